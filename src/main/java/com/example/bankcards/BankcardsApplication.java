@@ -3,10 +3,15 @@ package com.example.bankcards;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 public class BankcardsApplication {
 
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains(SchemaMigrationApplication.FLAG)) {
+            System.exit(SpringApplication.exit(SchemaMigrationApplication.migrate(args)));
+        }
         SpringApplication.run(BankcardsApplication.class, args);
     }
 
@@ -0,0 +1,23 @@
+package com.example.bankcards;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.SpringProperties;
+
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, LiquibaseAutoConfiguration.class})
+public class SchemaMigrationApplication {
+    public static final String FLAG = "--migrate";
+
+    public static ConfigurableApplicationContext migrate(String[] args) {
+        SpringProperties.setProperty(AotDetector.AOT_ENABLED, "false");
+        SpringApplication application = new SpringApplication(SchemaMigrationApplication.class);
+        application.setMainApplicationClass(SchemaMigrationApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        return application.run(args);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.config.properties.DataSourceRoutingProperties;
+import com.example.bankcards.config.properties.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource", name = "replicas[0].url")
+public class DataSourceConfig {
+
+    @Bean
+    @LiquibaseDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(DataSourceRoutingProperties routing) {
+        return new ReplicaLagGuard(routing.stickyPrimaryMs());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                                     DataSourceRoutingProperties routing, ReplicaLagGuard replicaLagGuard,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties replica : routing.replicas()) {
+            HikariDataSource pool = replicaPool(replica, properties, routing, replicas.size());
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaLagGuard, routing.replicaRetryMs());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaDataSource);
+        return proxy;
+    }
+
+    private static HikariDataSource replicaPool(ReplicaProperties replica, DataSourceProperties primary,
+                                                DataSourceRoutingProperties routing, int index) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + index);
+        pool.setDriverClassName(primary.determineDriverClassName());
+        pool.setJdbcUrl(replica.url());
+        pool.setUsername(replica.username() != null ? replica.username() : primary.determineUsername());
+        pool.setPassword(replica.password() != null ? replica.password() : primary.determinePassword());
+        if (replica.maximumPoolSize() > 0) pool.setMaximumPoolSize(replica.maximumPoolSize());
+        if (routing.replicaConnectionTimeoutMs() > 0) pool.setConnectionTimeout(routing.replicaConnectionTimeoutMs());
+        pool.setReadOnly(true);
+        return pool;
+    }
+}
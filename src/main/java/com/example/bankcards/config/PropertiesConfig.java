@@ -1,14 +1,32 @@
 package com.example.bankcards.config;
 
+import com.example.bankcards.config.properties.CacheInvalidationProperties;
+import com.example.bankcards.config.properties.CardEventsProperties;
+import com.example.bankcards.config.properties.CardExpiryProperties;
+import com.example.bankcards.config.properties.CardImportProperties;
+import com.example.bankcards.config.properties.CardListCacheProperties;
+import com.example.bankcards.config.properties.DataSourceRoutingProperties;
 import com.example.bankcards.config.properties.EncryptionProperties;
+import com.example.bankcards.config.properties.FlightRecorderProperties;
 import com.example.bankcards.config.properties.JwtProperties;
+import com.example.bankcards.config.properties.OutboxProperties;
+import com.example.bankcards.config.properties.PrometheusScrapeProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableConfigurationProperties({
+        CacheInvalidationProperties.class,
+        CardEventsProperties.class,
+        CardExpiryProperties.class,
+        CardImportProperties.class,
+        CardListCacheProperties.class,
+        DataSourceRoutingProperties.class,
         EncryptionProperties.class,
-        JwtProperties.class
+        FlightRecorderProperties.class,
+        JwtProperties.class,
+        OutboxProperties.class,
+        PrometheusScrapeProperties.class
 })
 public class PropertiesConfig {
 }
@@ -0,0 +1,57 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.event.CardBalanceChangedEvent;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.RemoteInvalidationEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public class ReplicaLagGuard {
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReplicaLagGuard(long stickyPrimaryMs) {
+        recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickyPrimaryMs))
+                .build();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardChanged(CardChangedEvent event) {
+        markWrite(event.ownerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBalanceChanged(CardBalanceChangedEvent event) {
+        markWrite(event.ownerId());
+    }
+
+    @EventListener
+    public void onRemoteInvalidation(RemoteInvalidationEvent event) {
+        event.ownerIds().forEach(ownerId -> recentWriters.put(ownerId, Boolean.TRUE));
+    }
+
+    public boolean currentUserWroteRecently() {
+        UUID userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private void markWrite(UUID ownerId) {
+        recentWriters.put(ownerId, Boolean.TRUE);
+        UUID actorId = currentUserId();
+        if (actorId != null) recentWriters.put(actorId, Boolean.TRUE);
+    }
+
+    private static UUID currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+}
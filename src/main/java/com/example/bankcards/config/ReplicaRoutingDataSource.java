@@ -0,0 +1,70 @@
+package com.example.bankcards.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReplicaLagGuard lagGuard;
+    private final long retryMs;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLongArray unavailableUntil;
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaLagGuard lagGuard, long retryMs) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagGuard = lagGuard;
+        this.retryMs = retryMs;
+        this.unavailableUntil = new AtomicLongArray(replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!lagGuard.currentUserWroteRecently()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = (start + i) % replicas.size();
+                if (System.currentTimeMillis() < unavailableUntil.get(index)) continue;
+                try {
+                    return opener.open(replicas.get(index));
+                } catch (SQLException e) {
+                    unavailableUntil.set(index, System.currentTimeMillis() + retryMs);
+                    log.warn("Replica #{} unavailable, reading from primary for {} ms: {}", index, retryMs, e.getMessage());
+                }
+            }
+        }
+        Connection connection = opener.open(primary);
+        connection.setReadOnly(true);
+        return connection;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) closeable.close();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.config.properties.MigrationProperties;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration(proxyBeanMethods = false)
+public class SchemaMigrationConfig {
+
+    @Bean
+    static BeanPostProcessor liquibaseMigrationModePostProcessor(Environment environment) {
+        MigrationProperties properties = Binder.get(environment)
+                .bindOrCreate("app.migration", MigrationProperties.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (properties.mode() == MigrationProperties.Mode.VERIFY && bean instanceof SpringLiquibase liquibase) {
+                    liquibase.setShouldRun(false);
+                    SchemaVersionVerifier.verify(liquibase);
+                }
+                return bean;
+            }
+        };
+    }
+}
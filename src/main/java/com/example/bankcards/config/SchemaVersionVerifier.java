@@ -0,0 +1,70 @@
+package com.example.bankcards.config;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import liquibase.integration.spring.SpringResourceAccessor;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ResourceAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public final class SchemaVersionVerifier {
+
+    private SchemaVersionVerifier() {
+    }
+
+    public static void verify(SpringLiquibase liquibase) {
+        long started = System.nanoTime();
+        List<String> expected = expected(liquibase);
+        Set<String> applied = applied(liquibase);
+        List<String> pending = expected.stream().filter(changeSet -> !applied.contains(changeSet)).toList();
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("Database schema is behind the application, pending changesets " + pending
+                    + ". Apply migrations with --migrate before starting the service");
+        }
+        log.info("Database schema is up to date ({} changesets, verified in {} ms)",
+                expected.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private static List<String> expected(SpringLiquibase liquibase) {
+        ResourceAccessor resources = new SpringResourceAccessor(liquibase.getResourceLoader());
+        try {
+            DatabaseChangeLog changeLog = ChangeLogParserFactory.getInstance()
+                    .getParser(liquibase.getChangeLog(), resources)
+                    .parse(liquibase.getChangeLog(), new ChangeLogParameters(), resources);
+            return changeLog.getChangeSets().stream().map(c -> key(c.getId(), c.getAuthor())).toList();
+        } catch (LiquibaseException e) {
+            throw new IllegalStateException("Failed to read changelog " + liquibase.getChangeLog(), e);
+        }
+    }
+
+    private static Set<String> applied(SpringLiquibase liquibase) {
+        String schema = liquibase.getLiquibaseSchema();
+        String table = liquibase.getDatabaseChangeLogTable() == null ? "databasechangelog" : liquibase.getDatabaseChangeLogTable();
+        String sql = "SELECT id, author FROM " + (schema == null ? "" : schema + ".") + table;
+        Set<String> applied = new HashSet<>();
+        try {
+            new JdbcTemplate(liquibase.getDataSource())
+                    .query(sql, rs -> {
+                        applied.add(key(rs.getString(1), rs.getString(2)));
+                    });
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Cannot read applied changesets from " + table
+                    + ". Apply migrations with --migrate before starting the service", e);
+        }
+        return applied;
+    }
+
+    private static String key(String id, String author) {
+        return id + ":" + author;
+    }
+}
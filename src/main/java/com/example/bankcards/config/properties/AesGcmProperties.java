@@ -1,4 +1,10 @@
 package com.example.bankcards.config.properties;
 
-public record AesGcmProperties(String key) {
+import java.util.Map;
+
+public record AesGcmProperties(
+        String key,
+        String activeKeyId,
+        Map<String, String> keys
+) {
 }
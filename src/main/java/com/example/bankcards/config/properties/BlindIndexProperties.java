@@ -0,0 +1,4 @@
+package com.example.bankcards.config.properties;
+
+public record BlindIndexProperties(String key, int backfillBatchSize) {
+}
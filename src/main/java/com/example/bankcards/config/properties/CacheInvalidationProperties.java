@@ -0,0 +1,13 @@
+package com.example.bankcards.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.cache-invalidation")
+public record CacheInvalidationProperties(
+        boolean enabled,
+        String channel,
+        long coalesceMs,
+        int maxPendingKeys,
+        long reconnectMs
+) {
+}
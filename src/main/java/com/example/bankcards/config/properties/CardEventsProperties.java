@@ -0,0 +1,13 @@
+package com.example.bankcards.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.card-events")
+public record CardEventsProperties(
+        long timeoutMs,
+        long heartbeatMs,
+        int bufferSize,
+        int senderThreads,
+        int maxStreamsPerUser
+) {
+}
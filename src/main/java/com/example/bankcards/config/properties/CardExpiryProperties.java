@@ -0,0 +1,12 @@
+package com.example.bankcards.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.card-expiry")
+public record CardExpiryProperties(
+        boolean enabled,
+        String cron,
+        int chunkSize,
+        long pauseMs
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.bankcards.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.card-list-cache")
+public record CardListCacheProperties(
+        int pageSize,
+        long maxSize,
+        Duration ttl
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.bankcards.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.datasource")
+public record DataSourceRoutingProperties(
+        List<ReplicaProperties> replicas,
+        long stickyPrimaryMs,
+        long replicaConnectionTimeoutMs,
+        long replicaRetryMs
+) {
+}
@@ -4,6 +4,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "encryption")
 public record EncryptionProperties(
-        AesGcmProperties aesGcm
+        AesGcmProperties aesGcm,
+        BlindIndexProperties blindIndex,
+        KeyRotationProperties rotation
 ) {
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.example.bankcards.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.flight-recorder")
+public record FlightRecorderProperties(
+        boolean enabled,
+        String settings,
+        long maxAgeMs,
+        long maxSizeMb
+) {
+}
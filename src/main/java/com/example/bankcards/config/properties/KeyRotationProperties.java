@@ -0,0 +1,9 @@
+package com.example.bankcards.config.properties;
+
+public record KeyRotationProperties(
+        boolean enabled,
+        int batchSize,
+        int parallelism,
+        long pauseMs
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.bankcards.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.migration")
+public record MigrationProperties(
+        Mode mode
+) {
+    public enum Mode {
+        UPDATE,
+        VERIFY
+    }
+}
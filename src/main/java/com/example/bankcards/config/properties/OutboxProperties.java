@@ -0,0 +1,13 @@
+package com.example.bankcards.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.outbox")
+public record OutboxProperties(
+        boolean enabled,
+        long pollMs,
+        int batchSize,
+        long retryDelayMs,
+        int maxAttempts
+) {
+}
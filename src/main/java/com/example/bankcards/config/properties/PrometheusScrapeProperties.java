@@ -0,0 +1,10 @@
+package com.example.bankcards.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.prometheus")
+public record PrometheusScrapeProperties(
+        String username,
+        String password
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.bankcards.config.properties;
+
+public record ReplicaProperties(
+        String url,
+        String username,
+        String password,
+        int maximumPoolSize
+) {
+}
@@ -1,12 +1,21 @@
 package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.ApiError;
+import com.example.bankcards.dto.card.AdminCardFilter;
+import com.example.bankcards.dto.card.AdminCardScrollResponse;
+import com.example.bankcards.dto.card.BulkIssueResult;
+import com.example.bankcards.dto.card.BulkStatusRequest;
+import com.example.bankcards.dto.card.BulkStatusResult;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardLookupRequest;
 import com.example.bankcards.dto.card.CreateCardRequest;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.service.AdminCardService;
+import com.example.bankcards.service.CardBulkIssueService;
+import com.example.bankcards.service.CardBulkStatusService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,11 +23,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -27,7 +42,61 @@ import java.util.UUID;
 @PreAuthorize("hasRole('ADMIN')")
 @Tag(name = "Admin Cards", description = "Управление картами (только для ADMIN)")
 public class AdminCardController {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
     private final AdminCardService adminCardService;
+    private final CardBulkIssueService bulkIssueService;
+    private final CardBulkStatusService bulkStatusService;
+
+    @Operation(summary = "Поиск карт всех пользователей",
+            description = "ADMIN ищет карты по статусу, владельцу, диапазону срока действия и последним 4 цифрам. "
+                    + "Выдача по курсору (от новых к старым), стоимость запроса не зависит от глубины прокрутки.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Порция карт",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = AdminCardScrollResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Неправильный курсор или параметры",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping
+    public AdminCardScrollResponse search(
+            @Parameter(description = "Статус карты", in = ParameterIn.QUERY) @RequestParam(required = false) CardStatus status,
+            @Parameter(description = "ID владельца", in = ParameterIn.QUERY) @RequestParam(required = false) UUID ownerId,
+            @Parameter(description = "Срок действия не раньше (yyyy-MM-dd)", in = ParameterIn.QUERY) @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiryFrom,
+            @Parameter(description = "Срок действия не позже (yyyy-MM-dd)", in = ParameterIn.QUERY) @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiryTo,
+            @Parameter(description = "Последние 4 цифры номера", in = ParameterIn.QUERY, example = "1234") @RequestParam(required = false) String last4,
+            @Parameter(description = "Курсор из nextCursor предыдущего ответа; без него возвращается первая порция", in = ParameterIn.QUERY) @RequestParam(required = false) String after,
+            @Parameter(description = "Размер порции (не больше 500)", in = ParameterIn.QUERY) @RequestParam(defaultValue = "50") int size) {
+        AdminCardFilter filter = new AdminCardFilter(status, ownerId, expiryFrom, expiryTo, last4);
+        return adminCardService.search(filter, size, after);
+    }
+
+    @Operation(summary = "Выгрузка карт в CSV",
+            description = "ADMIN выгружает все карты, подходящие под фильтр, потоком в CSV. "
+                    + "Строки читаются из БД курсором и сразу пишутся в ответ, без загрузки всей выборки в память.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "CSV с картами",
+                    content = @Content(mediaType = "text/csv", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "400", description = "Неправильные параметры",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Статус карты", in = ParameterIn.QUERY) @RequestParam(required = false) CardStatus status,
+            @Parameter(description = "ID владельца", in = ParameterIn.QUERY) @RequestParam(required = false) UUID ownerId,
+            @Parameter(description = "Срок действия не раньше (yyyy-MM-dd)", in = ParameterIn.QUERY) @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiryFrom,
+            @Parameter(description = "Срок действия не позже (yyyy-MM-dd)", in = ParameterIn.QUERY) @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiryTo,
+            @Parameter(description = "Последние 4 цифры номера", in = ParameterIn.QUERY, example = "1234") @RequestParam(required = false) String last4) {
+        AdminCardFilter filter = new AdminCardFilter(status, ownerId, expiryFrom, expiryTo, last4);
+        StreamingResponseBody body = out -> adminCardService.export(filter, out);
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cards.csv\"")
+                .body(body);
+    }
 
     @Operation(summary = "Создать карту для пользователя", description = "ADMIN создаёт карту. Номер будет зашифрован, сохраняется last4 для поиска.")
     @ApiResponses({
@@ -44,6 +113,42 @@ public class AdminCardController {
         return ResponseEntity.status(201).body(dto);
     }
 
+    @Operation(summary = "Массовый выпуск карт",
+            description = "ADMIN выпускает карты из CSV (ownerId,number,expiry,balance; строка заголовка необязательна). "
+                    + "Файл читается потоком и загружается в БД пачками через COPY в одной транзакции: "
+                    + "при любой ошибке не выпускается ни одна карта.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+            content = @Content(mediaType = "text/csv", schema = @Schema(type = "string",
+                    example = "ownerId,number,expiry,balance\n00000000-0000-0000-0000-000000000001,4111111111111111,2028-12,100.00")))
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Карты выпущены",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BulkIssueResult.class))),
+            @ApiResponse(responseCode = "400", description = "Ошибка в строке файла, неизвестный владелец или дубликат номера",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkIssueResult> bulkIssue(@Parameter(hidden = true) InputStream body) throws IOException {
+        return ResponseEntity.status(201).body(bulkIssueService.issue(body));
+    }
+
+    @Operation(summary = "Найти карту по номеру", description = "ADMIN ищет карту по полному номеру. Поиск идёт по HMAC-индексу, номер не расшифровывается.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Карта найдена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CardDto.class))),
+            @ApiResponse(responseCode = "400", description = "Неправильный входной запрос",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "404", description = "Карта не найдена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping("/lookup")
+    public CardDto lookup(@Valid @RequestBody CardLookupRequest req) {
+        return adminCardService.findByNumber(req.getNumber());
+    }
+
     @Operation(summary = "Изменить статус карты", description = "ADMIN может сменить статус (ACTIVE, BLOCKED, EXPIRED)")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Статус обновлён",
@@ -60,6 +165,23 @@ public class AdminCardController {
         return adminCardService.changeStatus(id, status);
     }
 
+    @Operation(summary = "Массово изменить статус карт",
+            description = "ADMIN меняет статус карт по списку ID и/или по фильтру (владелец, текущий статус, срок действия). "
+                    + "Обновление выполняется пачками по 1000 карт одним UPDATE на пачку с увеличением версии; "
+                    + "каждая пачка фиксируется отдельно.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Статусы обновлены",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BulkStatusResult.class))),
+            @ApiResponse(responseCode = "400", description = "Не указаны ни ID, ни фильтр, или неправильный фильтр",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @PatchMapping("/status")
+    public BulkStatusResult changeStatusBulk(@Valid @RequestBody BulkStatusRequest req) {
+        return bulkStatusService.changeStatus(req);
+    }
+
     @Operation(summary = "Удалить карту", description = "ADMIN удаляет карту. Провалится, если есть связанные переводы (конфликт).")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Удалено"),
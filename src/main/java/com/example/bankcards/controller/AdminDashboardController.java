@@ -0,0 +1,40 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.ApiError;
+import com.example.bankcards.dto.card.DashboardDto;
+import com.example.bankcards.service.DashboardCounterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/dashboard")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Admin Dashboard", description = "Сводные показатели (только для ADMIN)")
+public class AdminDashboardController {
+    private final DashboardCounterService dashboardCounterService;
+
+    @Operation(summary = "Счётчики карт и переводов",
+            description = "Количество карт по статусам, суммарный баланс, число и объём переводов. "
+                    + "Значения ведутся инкрементально и читаются из таблицы счётчиков, без агрегации по cards и transfers.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Текущие значения счётчиков",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = DashboardDto.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping
+    public DashboardDto dashboard() {
+        return dashboardCounterService.get();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.ApiError;
+import com.example.bankcards.dto.FlightRecordingDto;
+import com.example.bankcards.service.FlightRecorderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/admin/jfr")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Admin Flight Recorder", description = "Управление записью Java Flight Recorder (только для ADMIN)")
+public class AdminFlightRecordingController {
+    private final FlightRecorderService flightRecorderService;
+
+    @Operation(summary = "Состояние записи JFR")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Текущее состояние записи",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = FlightRecordingDto.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping
+    public FlightRecordingDto status() {
+        return flightRecorderService.status();
+    }
+
+    @Operation(summary = "Запустить запись JFR",
+            description = "Запускает запись с набором настроек default (постоянная, низкие накладные расходы) или profile. "
+                    + "Предыдущая остановленная запись при этом удаляется.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Запись запущена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = FlightRecordingDto.class))),
+            @ApiResponse(responseCode = "400", description = "Запись уже идёт или неизвестный набор настроек",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping("/start")
+    public FlightRecordingDto start(
+            @Parameter(description = "Набор настроек JFR", in = ParameterIn.QUERY, example = "profile") @RequestParam(required = false) String settings) {
+        return flightRecorderService.start(settings);
+    }
+
+    @Operation(summary = "Остановить запись JFR", description = "Данные остановленной записи остаются доступны для выгрузки до следующего запуска.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Запись остановлена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = FlightRecordingDto.class))),
+            @ApiResponse(responseCode = "400", description = "Запись не идёт",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping("/stop")
+    public FlightRecordingDto stop() {
+        return flightRecorderService.stop();
+    }
+
+    @Operation(summary = "Выгрузить запись JFR",
+            description = "Возвращает файл .jfr с данными текущей или остановленной записи. Запущенная запись продолжается.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Файл записи",
+                    content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE, schema = @Schema(type = "string", format = "binary"))),
+            @ApiResponse(responseCode = "400", description = "Записи нет",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "Нет прав",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dump() throws IOException {
+        Path file = flightRecorderService.dump();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(body);
+    }
+}
@@ -2,13 +2,20 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.ApiError;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardScrollResponse;
+import com.example.bankcards.dto.card.CardSummaryDto;
+import com.example.bankcards.dto.card.CardUpdateDto;
 import com.example.bankcards.dto.card.TransferRequest;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.exception.UnauthorizedException;
+import com.example.bankcards.service.CardEventStream;
 import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.CardSummaryService;
 import com.example.bankcards.service.CardTransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,10 +24,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.nio.file.AccessDeniedException;
 import java.util.Map;
@@ -33,28 +45,139 @@ import java.util.UUID;
 public class CardController {
     private final CardTransferService transferService;
     private final CardService cardService;
+    private final CardSummaryService cardSummaryService;
+    private final CardEventStream cardEventStream;
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     @Operation(
             summary = "Список своих карт",
-            description = "Возвращает страницу собственных карт с фильтрацией по статусу и поиском по последним 4 цифрам или имени владельца"
+            description = "Возвращает страницу собственных карт с фильтрацией по статусу и поиском по последним 4 цифрам или имени владельца. "
+                    + "При withTotal=false возвращается срез без общего количества элементов (без запроса COUNT)."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Страница карт",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Список карт не изменился (If-None-Match)"),
             @ApiResponse(responseCode = "401", description = "Неавторизован",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ApiError.class)))
     })
     @GetMapping
-    public Page<CardDto> listOwn(
+    public ResponseEntity<Slice<CardDto>> listOwn(
             @Parameter(hidden = true) @AuthenticationPrincipal User user,
             @Parameter(description = "Номер страницы (0-based)", in = ParameterIn.QUERY) @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Размер страницы", in = ParameterIn.QUERY) @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Статус карты", in = ParameterIn.QUERY, example = "ACTIVE") @RequestParam(required = false) String status,
+            @Parameter(description = "Поисковый термин: последние 4 цифры или имя владельца", in = ParameterIn.QUERY) @RequestParam(required = false) String search,
+            @Parameter(description = "Возвращать общее количество элементов и страниц", in = ParameterIn.QUERY) @RequestParam(defaultValue = "true") boolean withTotal,
+            WebRequest request
+    ) {
+        String etag = cardService.listEtag(user, page, size, status, search, withTotal);
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE)
+                .body(cardService.listOwn(user, page, size, status, search, withTotal));
+    }
+
+    @Operation(
+            summary = "Сводка по своим картам",
+            description = "Возвращает суммарный баланс и количество карт по статусам одним запросом"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Сводка",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CardSummaryDto.class))),
+            @ApiResponse(responseCode = "401", description = "Неавторизован",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/summary")
+    public CardSummaryDto summary(@Parameter(hidden = true) @AuthenticationPrincipal User user) {
+        return cardSummaryService.getOwn(user);
+    }
+
+    @Operation(
+            summary = "Поток изменений своих карт",
+            description = "Server-Sent Events: событие cards содержит массив CardUpdateDto с изменившимися полями карт "
+                    + "(баланс после перевода, статус, выпуск и удаление), событие resync означает, что список карт нужно "
+                    + "перечитать через GET /cards. Пустые комментарии отправляются как heartbeat. Если клиент не успевает "
+                    + "читать события, сервер закрывает поток; после переподключения список карт нужно перечитать."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Поток событий",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = CardUpdateDto.class)))),
+            @ApiResponse(responseCode = "401", description = "Неавторизован",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@Parameter(hidden = true) @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new UnauthorizedException("User is not authenticated");
+        }
+        return cardEventStream.subscribe(user.getId());
+    }
+
+    @Operation(
+            summary = "Карта по ID",
+            description = "Возвращает собственную карту. Поддерживает условный запрос по ETag (If-None-Match)."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Карта",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CardDto.class))),
+            @ApiResponse(responseCode = "304", description = "Карта не изменилась"),
+            @ApiResponse(responseCode = "401", description = "Неавторизован",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "403", description = "Чужая карта",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "404", description = "Карта не найдена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<CardDto> getOwn(
+            @Parameter(hidden = true) @AuthenticationPrincipal User user,
+            @Parameter(description = "ID карты", required = true) @PathVariable UUID id,
+            WebRequest request
+    ) {
+        String etag = cardService.cardEtag(user, id);
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(cardService.getOwn(user, id));
+    }
+
+    @Operation(
+            summary = "Список своих карт по курсору",
+            description = "Возвращает порцию собственных карт после переданного курсора (от новых к старым). Стоимость запроса не зависит от глубины прокрутки."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Порция карт",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CardScrollResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Неправильный курсор или параметры",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "401", description = "Неавторизован",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/scroll")
+    public CardScrollResponse scrollOwn(
+            @Parameter(hidden = true) @AuthenticationPrincipal User user,
+            @Parameter(description = "Курсор из nextCursor предыдущего ответа; без него возвращается первая порция", in = ParameterIn.QUERY) @RequestParam(required = false) String after,
+            @Parameter(description = "Размер порции", in = ParameterIn.QUERY) @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Статус карты", in = ParameterIn.QUERY, example = "ACTIVE") @RequestParam(required = false) String status,
             @Parameter(description = "Поисковый термин: последние 4 цифры или имя владельца", in = ParameterIn.QUERY) @RequestParam(required = false) String search
     ) {
-        return cardService.listOwn(user, page, size, status, search);
+        return cardService.scrollOwn(user, size, status, search, after);
     }
 
     @Operation(
@@ -98,4 +221,8 @@ public class CardController {
         cardService.requestBlock(user, id);
         return ResponseEntity.ok(Map.of("status", "blocked"));
     }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+    }
 }
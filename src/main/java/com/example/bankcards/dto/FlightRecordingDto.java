@@ -0,0 +1,44 @@
+package com.example.bankcards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(name = "FlightRecordingDto", description = "Состояние записи Java Flight Recorder")
+public record FlightRecordingDto(
+        @Schema(
+                description = "Состояние записи: NONE, NEW, DELAYED, RUNNING, STOPPED или CLOSED",
+                example = "RUNNING",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        String state,
+
+        @Schema(
+                description = "Набор настроек JFR (default или profile)",
+                example = "default"
+        )
+        String settings,
+
+        @Schema(
+                description = "Время старта записи",
+                example = "2025-01-01T10:00:00Z"
+        )
+        Instant startedAt,
+
+        @Schema(
+                description = "Время остановки записи",
+                example = "2025-01-01T10:05:00Z"
+        )
+        Instant stoppedAt,
+
+        @Schema(
+                description = "Объём записанных данных в байтах",
+                example = "1048576",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        long sizeBytes
+) {
+    public static FlightRecordingDto none() {
+        return new FlightRecordingDto("NONE", null, null, null, 0);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bankcards.dto.card;
+
+import com.example.bankcards.entity.CardStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record AdminCardFilter(
+        CardStatus status,
+        UUID ownerId,
+        LocalDate expiryFrom,
+        LocalDate expiryTo,
+        String last4
+) {
+    public AdminCardFilter {
+        if (last4 != null && last4.isBlank()) last4 = null;
+        if (last4 != null && !last4.matches("\\d{4}")) {
+            throw new IllegalArgumentException("last4 must contain exactly 4 digits");
+        }
+        if (expiryFrom != null && expiryTo != null && expiryFrom.isAfter(expiryTo)) {
+            throw new IllegalArgumentException("expiryFrom must not be after expiryTo");
+        }
+    }
+}
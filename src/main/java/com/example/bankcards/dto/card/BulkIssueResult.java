@@ -0,0 +1,21 @@
+package com.example.bankcards.dto.card;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "BulkIssueResult", description = "Результат массового выпуска карт")
+public record BulkIssueResult(
+        @Schema(
+                description = "Количество выпущенных карт",
+                example = "250000",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        long issued,
+
+        @Schema(
+                description = "Количество владельцев, получивших карты",
+                example = "1200",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        int owners
+) {
+}
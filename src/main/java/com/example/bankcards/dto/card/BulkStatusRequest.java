@@ -0,0 +1,67 @@
+package com.example.bankcards.dto.card;
+
+import com.example.bankcards.entity.CardStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "BulkStatusRequest", description = "Запрос на массовую смену статуса карт: по списку ID и/или по фильтру")
+public class BulkStatusRequest {
+
+    @NotNull
+    @Schema(
+            description = "Новый статус карт",
+            example = "BLOCKED",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private CardStatus status;
+
+    @Size(max = 10000)
+    @Schema(
+            description = "ID карт (не больше 10000)",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private List<UUID> ids;
+
+    @Schema(
+            description = "Только карты этого владельца",
+            type = "string",
+            format = "uuid",
+            example = "3fa85f64-5717-4562-b3fc-2c963f66afa6",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private UUID ownerId;
+
+    @Schema(
+            description = "Только карты в этом статусе",
+            example = "ACTIVE",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private CardStatus currentStatus;
+
+    @Schema(
+            description = "Срок действия не раньше",
+            example = "2025-01-01",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private LocalDate expiryFrom;
+
+    @Schema(
+            description = "Срок действия не позже",
+            example = "2025-12-31",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private LocalDate expiryTo;
+}
@@ -0,0 +1,21 @@
+package com.example.bankcards.dto.card;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "BulkStatusResult", description = "Результат массовой смены статуса карт")
+public record BulkStatusResult(
+        @Schema(
+                description = "Количество карт, у которых изменился статус",
+                example = "1520",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        long updated,
+
+        @Schema(
+                description = "Количество затронутых владельцев",
+                example = "3",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        int owners
+) {
+}
@@ -0,0 +1,33 @@
+package com.example.bankcards.dto.card;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+public record CardCursor(Instant createdAt, UUID id) {
+    private static final char SEPARATOR = '|';
+
+    public static CardCursor of(CardRow row) {
+        return new CardCursor(row.createdAt(), row.id());
+    }
+
+    public static CardCursor of(AdminCardRow row) {
+        return new CardCursor(row.createdAt(), row.id());
+    }
+
+    public static CardCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            return new CardCursor(Instant.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
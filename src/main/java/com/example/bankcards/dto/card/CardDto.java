@@ -55,4 +55,14 @@ public record CardDto(
                 c.getExpiry()
         );
     }
+
+    public static CardDto from(CardRow row) {
+        return new CardDto(
+                row.id(),
+                row.maskedNumber(),
+                row.status().name(),
+                row.balance(),
+                row.expiry()
+        );
+    }
 }
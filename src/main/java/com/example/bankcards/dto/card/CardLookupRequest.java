@@ -0,0 +1,27 @@
+package com.example.bankcards.dto.card;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CardLookupRequest", description = "Запрос на поиск карты по полному номеру")
+public class CardLookupRequest {
+
+    @NotBlank
+    @Pattern(regexp = "\\d{12,19}", message = "Card number must be 12..19 digits")
+    @Schema(
+            description = "Номер карты, 12–19 цифр без пробелов",
+            example = "1234567812345678",
+            pattern = "\\d{12,19}",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String number;
+}
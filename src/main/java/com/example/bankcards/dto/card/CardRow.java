@@ -0,0 +1,24 @@
+package com.example.bankcards.dto.card;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.security.EncryptedCardNumber;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record CardRow(
+        UUID id,
+        String last4,
+        EncryptedCardNumber number,
+        CardStatus status,
+        BigDecimal balance,
+        LocalDate expiry,
+        Instant createdAt
+) {
+    public String maskedNumber() {
+        return Card.mask(last4 != null ? last4 : Card.last4Of(number == null ? null : number.plain()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.bankcards.dto.card;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "CardScrollResponse", description = "Порция карт при постраничной выдаче по курсору")
+public record CardScrollResponse(
+        @Schema(
+                description = "Карты, отсортированные от новых к старым",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        List<CardDto> content,
+
+        @Schema(
+                description = "Курсор для запроса следующей порции (параметр after), отсутствует на последней порции",
+                example = "MjAyNS0wMS0wMVQxMDowMDowMFp8M2ZhODVmNjQtNTcxNy00NTYyLWIzZmMtMmM5NjNmNjZhZmE2",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED
+        )
+        String nextCursor,
+
+        @Schema(
+                description = "Есть ли следующая порция",
+                example = "true",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        boolean hasNext
+) {
+}
@@ -0,0 +1,43 @@
+package com.example.bankcards.dto.card;
+
+import com.example.bankcards.entity.UserCardSummary;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(name = "CardSummaryDto", description = "Сводка по картам пользователя")
+public record CardSummaryDto(
+        @Schema(
+                description = "Суммарный баланс всех карт",
+                example = "15300.50",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        BigDecimal totalBalance,
+
+        @Schema(
+                description = "Количество активных карт",
+                example = "2",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        int active,
+
+        @Schema(
+                description = "Количество заблокированных карт",
+                example = "1",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        int blocked,
+
+        @Schema(
+                description = "Количество карт с истёкшим сроком",
+                example = "0",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        int expired
+) {
+    public static final CardSummaryDto EMPTY = new CardSummaryDto(BigDecimal.ZERO, 0, 0, 0);
+
+    public static CardSummaryDto from(UserCardSummary s) {
+        return new CardSummaryDto(s.getTotalBalance(), s.getActiveCount(), s.getBlockedCount(), s.getExpiredCount());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.bankcards.dto.card;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(name = "CardUpdateDto", description = "Изменение карты в потоке событий; передаются только изменившиеся поля")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CardUpdateDto(
+        @Schema(
+                description = "Идентификатор карты",
+                example = "3fa85f64-5717-4562-b3fc-2c963f66afa6",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        UUID id,
+
+        @Schema(
+                description = "Новый статус карты",
+                example = "BLOCKED"
+        )
+        String status,
+
+        @Schema(
+                description = "Новый баланс карты",
+                example = "960.00"
+        )
+        BigDecimal balance,
+
+        @Schema(
+                description = "Карта удалена",
+                example = "true"
+        )
+        Boolean deleted
+) {
+    private static final int MIN_MONEY_SCALE = 2;
+
+    public static CardUpdateDto created(Card card) {
+        return new CardUpdateDto(card.getId(), card.getStatus().name(), money(card.getBalance()), null);
+    }
+
+    public static CardUpdateDto balance(Card card) {
+        return new CardUpdateDto(card.getId(), null, money(card.getBalance()), null);
+    }
+
+    public static CardUpdateDto status(UUID id, CardStatus status) {
+        return new CardUpdateDto(id, status.name(), null, null);
+    }
+
+    public static CardUpdateDto deleted(UUID id) {
+        return new CardUpdateDto(id, null, null, true);
+    }
+
+    private static BigDecimal money(BigDecimal amount) {
+        BigDecimal stripped = amount.stripTrailingZeros();
+        return stripped.scale() < MIN_MONEY_SCALE ? stripped.setScale(MIN_MONEY_SCALE) : stripped;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bankcards.dto.card;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -50,6 +51,7 @@ public class CreateCardRequest {
 
     @NotNull
     @DecimalMin(value = "0.00")
+    @Digits(integer = 15, fraction = 4)
     @Schema(
             description = "Начальный баланс карты (неотрицательное число)",
             example = "0.00",
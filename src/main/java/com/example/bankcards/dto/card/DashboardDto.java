@@ -0,0 +1,51 @@
+package com.example.bankcards.dto.card;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(name = "DashboardDto", description = "Сводные счётчики по всем картам и переводам")
+public record DashboardDto(
+        @Schema(
+                description = "Количество активных карт",
+                example = "1250",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        long active,
+
+        @Schema(
+                description = "Количество заблокированных карт",
+                example = "37",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        long blocked,
+
+        @Schema(
+                description = "Количество карт с истёкшим сроком",
+                example = "112",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        long expired,
+
+        @Schema(
+                description = "Суммарный баланс всех выпущенных карт",
+                example = "1530000.50",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        BigDecimal totalBalance,
+
+        @Schema(
+                description = "Количество выполненных переводов",
+                example = "9800",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        long transfers,
+
+        @Schema(
+                description = "Суммарный объём выполненных переводов",
+                example = "420000.00",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        BigDecimal transferVolume
+) {
+}
@@ -1,6 +1,7 @@
 package com.example.bankcards.dto.card;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -34,6 +35,7 @@ public class TransferRequest {
 
     @NotNull
     @Positive
+    @Digits(integer = 15, fraction = 4)
     @Schema(
             description = "Сумма перевода (положительное число)",
             example = "1500.00",
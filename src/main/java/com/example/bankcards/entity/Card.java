@@ -1,8 +1,11 @@
 package com.example.bankcards.entity;
 
-import com.example.bankcards.security.AesGcmAttributeConverter;
+import com.example.bankcards.security.EncryptedCardNumber;
+import com.example.bankcards.security.EncryptedCardNumberConverter;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,6 +15,7 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cards")
 @Table(name = "cards")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,9 +27,15 @@ public class Card {
     @Column(nullable = false, updatable = false)
     private UUID id;
 
-    @Convert(converter = AesGcmAttributeConverter.class)
-    @Column(name = "number_encrypted", nullable = false, columnDefinition = "text")
-    private String number;
+    @Convert(converter = EncryptedCardNumberConverter.class)
+    @Column(name = "number_encrypted", nullable = false, updatable = false, columnDefinition = "text")
+    private EncryptedCardNumber number;
+
+    @Column(name = "number_hash", length = 64)
+    private String numberHash;
+
+    @Column(length = 4)
+    private String last4;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
@@ -51,15 +61,30 @@ public class Card {
     @UpdateTimestamp
     private Instant updatedAt;
 
+    public String getNumber() {
+        return number == null ? null : number.plain();
+    }
+
+    public void setNumber(String number) {
+        this.number = EncryptedCardNumber.ofPlain(number);
+    }
+
     @Transient
     public String getMaskedNumber() {
-        if (number == null) return null;
-        String plain = number;
-        if (plain.length() < 4) return "****";
-        String last4 = plain.substring(plain.length() - 4);
+        return mask(last4 != null ? last4 : last4Of(getNumber()));
+    }
+
+    public static String mask(String last4) {
+        if (last4 == null) return null;
+        if (last4.length() < 4) return "****";
         return "**** **** **** " + last4;
     }
 
+    public static String last4Of(String number) {
+        if (number == null) return null;
+        return number.length() < 4 ? number : number.substring(number.length() - 4);
+    }
+
     @PrePersist
     public void prePersist() {
         if (id == null) id = UUID.randomUUID();
@@ -68,4 +93,17 @@ public class Card {
     public boolean isActive() {
         return status == CardStatus.ACTIVE;
     }
+
+    public boolean isExpired(LocalDate today) {
+        return expiry != null && expiry.isBefore(today);
+    }
+
+    public static class CardBuilder {
+        private EncryptedCardNumber number;
+
+        public CardBuilder number(String number) {
+            this.number = EncryptedCardNumber.ofPlain(number);
+            return this;
+        }
+    }
 }
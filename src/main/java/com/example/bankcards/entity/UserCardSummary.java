@@ -0,0 +1,35 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_card_summary")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserCardSummary {
+    @Id
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(name = "total_balance", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalBalance;
+
+    @Column(name = "active_count", nullable = false)
+    private int activeCount;
+
+    @Column(name = "blocked_count", nullable = false)
+    private int blockedCount;
+
+    @Column(name = "expired_count", nullable = false)
+    private int expiredCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,15 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.entity.CardStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record CardStatusChangedPayload(
+        UUID cardId,
+        UUID ownerId,
+        CardStatus previous,
+        CardStatus status,
+        Instant occurredAt
+) {
+}
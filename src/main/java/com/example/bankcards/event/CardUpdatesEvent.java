@@ -0,0 +1,20 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.dto.card.CardUpdateDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CardUpdatesEvent(UUID ownerId, List<CardUpdateDto> updates) {
+    public static CardUpdatesEvent of(UUID ownerId, CardUpdateDto... updates) {
+        return new CardUpdatesEvent(ownerId, List.of(updates));
+    }
+
+    public static CardUpdatesEvent resync(UUID ownerId) {
+        return new CardUpdatesEvent(ownerId, List.of());
+    }
+
+    public boolean isResync() {
+        return updates.isEmpty();
+    }
+}
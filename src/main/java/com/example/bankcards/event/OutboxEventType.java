@@ -0,0 +1,6 @@
+package com.example.bankcards.event;
+
+public enum OutboxEventType {
+    TRANSFER_COMPLETED,
+    CARD_STATUS_CHANGED
+}
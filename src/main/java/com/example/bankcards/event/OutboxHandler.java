@@ -0,0 +1,7 @@
+package com.example.bankcards.event;
+
+public interface OutboxHandler {
+    boolean supports(OutboxEventType type);
+
+    void handle(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,6 @@
+package com.example.bankcards.event;
+
+import java.util.UUID;
+
+public record OutboxMessage(long id, OutboxEventType type, UUID aggregateId, String payload, int attempts) {
+}
@@ -0,0 +1,10 @@
+package com.example.bankcards.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record RemoteInvalidationEvent(boolean all, Set<UUID> ownerIds, Set<UUID> cardIds, Set<UUID> userIds) {
+    public static RemoteInvalidationEvent everything() {
+        return new RemoteInvalidationEvent(true, Set.of(), Set.of(), Set.of());
+    }
+}
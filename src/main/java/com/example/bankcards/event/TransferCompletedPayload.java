@@ -0,0 +1,15 @@
+package com.example.bankcards.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record TransferCompletedPayload(
+        UUID transferId,
+        UUID userId,
+        UUID fromCardId,
+        UUID toCardId,
+        BigDecimal amount,
+        Instant occurredAt
+) {
+}
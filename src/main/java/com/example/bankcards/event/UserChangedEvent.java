@@ -0,0 +1,6 @@
+package com.example.bankcards.event;
+
+import java.util.UUID;
+
+public record UserChangedEvent(UUID userId) {
+}
@@ -0,0 +1,34 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(CardNumberCipherEvent.NAME)
+@Label("Card Number Cipher")
+@Category({"Bankcards", "Security"})
+@StackTrace(false)
+@Threshold("100 us")
+public class CardNumberCipherEvent extends Event {
+    public static final String NAME = "bankcards.CardNumberCipher";
+    public static final String ENCRYPT = "encrypt";
+    public static final String DECRYPT = "decrypt";
+    private static final String LEGACY_KEY = "<legacy>";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Key Id")
+    private String keyId;
+
+    public void finish(String operation, String keyId) {
+        end();
+        if (!shouldCommit()) return;
+        this.operation = operation;
+        this.keyId = keyId == null ? LEGACY_KEY : keyId;
+        commit();
+    }
+}
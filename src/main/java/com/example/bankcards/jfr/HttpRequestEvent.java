@@ -0,0 +1,44 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@Name(HttpRequestEvent.NAME)
+@Label("HTTP Request")
+@Category({"Bankcards", "Web"})
+@StackTrace(false)
+@Threshold("10 ms")
+public class HttpRequestEvent extends Event {
+    public static final String NAME = "bankcards.HttpRequest";
+    private static final Pattern UUID_SEGMENT =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    @Label("Method")
+    private String method;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Status")
+    private int status;
+
+    @Label("User")
+    private String user;
+
+    public void finish(String method, String uri, int status, UUID userId) {
+        end();
+        if (!shouldCommit()) return;
+        this.method = method;
+        this.path = uri == null ? null : UUID_SEGMENT.matcher(uri).replaceAll("{id}");
+        this.status = status;
+        this.user = JfrIds.hash(userId);
+        commit();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.bankcards.jfr;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+public final class JfrIds {
+    private static final int HASH_BYTES = 8;
+
+    private JfrIds() {
+    }
+
+    public static String hash(UUID id) {
+        return id == null ? null : hash(id.toString());
+    }
+
+    public static String hash(String id) {
+        if (id == null) return null;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(id.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, HASH_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
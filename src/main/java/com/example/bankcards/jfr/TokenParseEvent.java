@@ -0,0 +1,35 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(TokenParseEvent.NAME)
+@Label("JWT Parse")
+@Category({"Bankcards", "Security"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class TokenParseEvent extends Event {
+    public static final String NAME = "bankcards.TokenParse";
+
+    @Label("Token Type")
+    private String tokenType;
+
+    @Label("Valid")
+    private boolean valid;
+
+    @Label("User")
+    private String user;
+
+    public void finish(String tokenType, boolean valid, String subject) {
+        end();
+        if (!shouldCommit()) return;
+        this.tokenType = tokenType;
+        this.valid = valid;
+        this.user = JfrIds.hash(subject);
+        commit();
+    }
+}
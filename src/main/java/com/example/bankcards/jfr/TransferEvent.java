@@ -0,0 +1,40 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Locale;
+import java.util.UUID;
+
+@Name(TransferEvent.NAME)
+@Label("Card Transfer")
+@Category({"Bankcards", "Operations"})
+@StackTrace(false)
+public class TransferEvent extends Event {
+    public static final String NAME = "bankcards.Transfer";
+
+    @Label("User")
+    private String user;
+
+    @Label("From Card")
+    private String fromCard;
+
+    @Label("To Card")
+    private String toCard;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void finish(UUID userId, UUID fromCardId, UUID toCardId, Enum<?> outcome) {
+        end();
+        if (!shouldCommit()) return;
+        this.user = JfrIds.hash(userId);
+        this.fromCard = JfrIds.hash(fromCardId);
+        this.toCard = JfrIds.hash(toCardId);
+        this.outcome = outcome.name().toLowerCase(Locale.ROOT);
+        commit();
+    }
+}
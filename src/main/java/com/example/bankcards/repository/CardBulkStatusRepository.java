@@ -0,0 +1,76 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.card.AdminCardFilter;
+import com.example.bankcards.entity.CardStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class CardBulkStatusRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ChangedCard(UUID id, UUID ownerId, CardStatus previous) {
+    }
+
+    public List<ChangedCard> updateChunk(List<UUID> ids, AdminCardFilter filter, CardStatus status, UUID after, int limit) {
+        StringBuilder where = new StringBuilder("status <> ?");
+        List<Object> args = new ArrayList<>();
+        args.add(status.name());
+        if (ids != null && !ids.isEmpty()) {
+            where.append(" AND id = ANY (?::uuid[])");
+            args.add(ids.stream().map(UUID::toString).toArray(String[]::new));
+        }
+        if (filter.ownerId() != null) {
+            where.append(" AND owner_id = ?");
+            args.add(filter.ownerId());
+        }
+        if (filter.status() != null) {
+            where.append(" AND status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.last4() != null) {
+            where.append(" AND last4 = ?");
+            args.add(filter.last4());
+        }
+        if (filter.expiryFrom() != null) {
+            where.append(" AND expiry >= ?");
+            args.add(Date.valueOf(filter.expiryFrom()));
+        }
+        if (filter.expiryTo() != null) {
+            where.append(" AND expiry <= ?");
+            args.add(Date.valueOf(filter.expiryTo()));
+        }
+        if (after != null) {
+            where.append(" AND id > ?");
+            args.add(after);
+        }
+        args.add(limit);
+        args.add(status.name());
+        return update("SELECT id, owner_id, status FROM cards WHERE " + where + " ORDER BY id LIMIT ? FOR UPDATE", args);
+    }
+
+    public List<ChangedCard> expireChunk(LocalDate today, int limit) {
+        List<Object> args = List.of(CardStatus.ACTIVE.name(), Date.valueOf(today), limit, CardStatus.EXPIRED.name());
+        return update("SELECT id, owner_id, status FROM cards WHERE status = ? AND expiry < ? "
+                + "ORDER BY expiry LIMIT ? FOR UPDATE SKIP LOCKED", args);
+    }
+
+    private List<ChangedCard> update(String target, List<Object> args) {
+        String sql = "WITH target AS (" + target + "), "
+                + "updated AS (UPDATE cards c SET status = ?, version = c.version + 1, updated_at = now() "
+                + "FROM target t WHERE c.id = t.id RETURNING t.id, t.owner_id, t.status) "
+                + "SELECT id, owner_id, status FROM updated ORDER BY id";
+        return jdbcTemplate.query(sql,
+                (rs, i) -> new ChangedCard(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class),
+                        CardStatus.valueOf(rs.getString(3))),
+                args.toArray());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.bankcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class CardCopyRepository {
+    private static final String COPY_SQL = "COPY cards (id, owner_id, number_encrypted, number_hash, last4, expiry, status, balance) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public record CardCopyRow(UUID id, UUID ownerId, String numberEncrypted, String numberHash, String last4,
+                              LocalDate expiry, String status, BigDecimal balance) {
+    }
+
+    public List<String> findExistingNumberHashes(List<String> hashes) {
+        return jdbcTemplate.query("SELECT number_hash FROM cards WHERE number_hash = ANY (?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", hashes.toArray())),
+                (rs, i) -> rs.getString(1));
+    }
+
+    public long copyIn(List<CardCopyRow> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 192);
+        for (CardCopyRow row : rows) {
+            csv.append(row.id()).append(',')
+                    .append(row.ownerId()).append(',')
+                    .append(row.numberEncrypted()).append(',')
+                    .append(row.numberHash()).append(',')
+                    .append(row.last4()).append(',')
+                    .append(row.expiry()).append(',')
+                    .append(row.status()).append(',')
+                    .append(row.balance().toPlainString()).append('\n');
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("COPY into cards failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
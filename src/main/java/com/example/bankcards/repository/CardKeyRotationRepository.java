@@ -0,0 +1,84 @@
+package com.example.bankcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class CardKeyRotationRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Progress(UUID lastCardId, boolean finished) {
+    }
+
+    public record CardCiphertext(UUID id, String numberEncrypted) {
+    }
+
+    public void startProgress(String targetKeyId) {
+        jdbcTemplate.update("INSERT INTO key_rotation_progress (target_key_id) VALUES (?) ON CONFLICT DO NOTHING",
+                targetKeyId);
+    }
+
+    public Optional<Progress> lockProgress(String targetKeyId) {
+        return jdbcTemplate.query("SELECT last_card_id, finished_at FROM key_rotation_progress " +
+                                "WHERE target_key_id = ? FOR UPDATE SKIP LOCKED",
+                        (rs, i) -> new Progress(rs.getObject(1, UUID.class), rs.getTimestamp(2) != null),
+                        targetKeyId)
+                .stream().findFirst();
+    }
+
+    public void saveProgress(String targetKeyId, UUID lastCardId, int processed) {
+        jdbcTemplate.update("UPDATE key_rotation_progress SET last_card_id = ?, processed = processed + ? " +
+                        "WHERE target_key_id = ?",
+                lastCardId, processed, targetKeyId);
+    }
+
+    public void markFinished(String targetKeyId) {
+        jdbcTemplate.update("UPDATE key_rotation_progress SET finished_at = now() WHERE target_key_id = ?", targetKeyId);
+    }
+
+    public void restartProgress(String targetKeyId) {
+        jdbcTemplate.update("UPDATE key_rotation_progress SET last_card_id = NULL, finished_at = NULL " +
+                "WHERE target_key_id = ?", targetKeyId);
+    }
+
+    public long countNotEncryptedWith(String targetKeyId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM cards WHERE NOT starts_with(number_encrypted, ?)", Long.class, targetKeyId + ":");
+        return count == null ? 0 : count;
+    }
+
+    public List<CardCiphertext> findBatch(UUID after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query("SELECT id, number_encrypted FROM cards ORDER BY id LIMIT ?",
+                    (rs, i) -> new CardCiphertext(rs.getObject(1, UUID.class), rs.getString(2)), limit);
+        }
+        return jdbcTemplate.query("SELECT id, number_encrypted FROM cards WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, i) -> new CardCiphertext(rs.getObject(1, UUID.class), rs.getString(2)), after, limit);
+    }
+
+    public int[] replaceCiphertexts(List<CardCiphertext> current, List<String> replacements) {
+        return jdbcTemplate.batchUpdate("UPDATE cards SET number_encrypted = ? WHERE id = ? AND number_encrypted = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, replacements.get(i));
+                        ps.setObject(2, current.get(i).id());
+                        ps.setString(3, current.get(i).numberEncrypted());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return current.size();
+                    }
+                });
+    }
+}
@@ -1,10 +1,74 @@
 package com.example.bankcards.repository;
 
+import com.example.bankcards.dto.card.CardRow;
 import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface CardRepository extends JpaRepository<Card, UUID>, JpaSpecificationExecutor<Card> {
+public interface CardRepository extends JpaRepository<Card, UUID>, JpaSpecificationExecutor<Card>, CardRepositoryCustom {
+    interface StatusCount {
+        CardStatus getStatus();
+
+        long getTotal();
+    }
+
+    interface VersionStamp {
+        long getCount();
+
+        Long getVersionSum();
+
+        Instant getLastUpdated();
+    }
+
+    interface CardVersion {
+        UUID getOwnerId();
+
+        Long getVersion();
+
+        Instant getUpdatedAt();
+    }
+
+    boolean existsByNumberHash(String numberHash);
+
+    @Query(value = "select c.* from cards c where (c.number_hash is null or c.last4 is null) and c.id > :after " +
+            "and not exists (select 1 from card_number_hash_conflicts k where k.card_id = c.id) order by c.id",
+            nativeQuery = true)
+    List<Card> findWithoutSearchColumns(@Param("after") UUID after, Pageable pageable);
+
+    @Modifying
+    @Query(value = "insert into card_number_hash_conflicts (card_id, number_hash) values (:id, :hash) on conflict do nothing",
+            nativeQuery = true)
+    int recordNumberHashConflict(@Param("id") UUID id, @Param("hash") String numberHash);
+
+    @Modifying
+    @Query("update Card c set c.last4 = coalesce(c.last4, :last4) where c.id = :id")
+    int setLast4(@Param("id") UUID id, @Param("last4") String last4);
+
+    @Query("select c.status as status, count(c) as total from Card c where c.owner.id = :ownerId group by c.status")
+    List<StatusCount> countByOwnerGroupByStatus(@Param("ownerId") UUID ownerId);
+
+    @Query("select new com.example.bankcards.dto.card.CardRow(c.id, c.last4, c.number, c.status, c.balance, c.expiry, c.createdAt) " +
+            "from Card c where c.numberHash = :hash")
+    Optional<CardRow> findRowByNumberHash(@Param("hash") String numberHash);
+
+    @Query("select new com.example.bankcards.dto.card.CardRow(c.id, c.last4, c.number, c.status, c.balance, c.expiry, c.createdAt) " +
+            "from Card c where c.id = :id and c.owner.id = :ownerId")
+    Optional<CardRow> findRowByIdAndOwnerId(@Param("id") UUID id, @Param("ownerId") UUID ownerId);
+
+    @Query("select count(c) as count, sum(c.version) as versionSum, max(c.updatedAt) as lastUpdated " +
+            "from Card c where c.owner.id = :ownerId")
+    VersionStamp versionStampByOwner(@Param("ownerId") UUID ownerId);
+
+    @Query("select c.owner.id as ownerId, c.version as version, c.updatedAt as updatedAt from Card c where c.id = :id")
+    Optional<CardVersion> findVersionById(@Param("id") UUID id);
 }
@@ -0,0 +1,29 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.card.AdminCardRow;
+import com.example.bankcards.dto.card.CardRow;
+import com.example.bankcards.entity.Card;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface CardRepositoryCustom {
+    record SearchColumns(UUID id, String numberHash, String last4) {
+    }
+
+    Slice<CardRow> findRowSlice(Specification<Card> spec, Pageable pageable);
+
+    Page<CardRow> findRowPage(Specification<Card> spec, Pageable pageable);
+
+    Slice<AdminCardRow> findAdminRowSlice(Specification<Card> spec, Pageable pageable);
+
+    void forEachAdminRow(Specification<Card> spec, Sort sort, Consumer<AdminCardRow> action);
+
+    int setSearchColumns(List<SearchColumns> rows);
+}
@@ -0,0 +1,143 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.card.AdminCardRow;
+import com.example.bankcards.dto.card.CardRow;
+import com.example.bankcards.entity.Card;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class CardRepositoryCustomImpl implements CardRepositoryCustom {
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final String SEARCH_COLUMNS_SQL =
+            "UPDATE cards SET number_hash = coalesce(number_hash, ?), last4 = coalesce(last4, ?) WHERE id = ?";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Slice<CardRow> findRowSlice(Specification<Card> spec, Pageable pageable) {
+        return slice(CardRow.class, CardRepositoryCustomImpl::cardColumns, spec, pageable);
+    }
+
+    @Override
+    public Page<CardRow> findRowPage(Specification<Card> spec, Pageable pageable) {
+        List<CardRow> rows = rowQuery(CardRow.class, CardRepositoryCustomImpl::cardColumns, spec, pageable.getSort())
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<AdminCardRow> findAdminRowSlice(Specification<Card> spec, Pageable pageable) {
+        return slice(AdminCardRow.class, CardRepositoryCustomImpl::adminColumns, spec, pageable);
+    }
+
+    @Override
+    public void forEachAdminRow(Specification<Card> spec, Sort sort, Consumer<AdminCardRow> action) {
+        try (Stream<AdminCardRow> rows = rowQuery(AdminCardRow.class, CardRepositoryCustomImpl::adminColumns, spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream()) {
+            rows.forEach(action);
+        }
+    }
+
+    @Override
+    public int setSearchColumns(List<SearchColumns> rows) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(SEARCH_COLUMNS_SQL)) {
+                for (SearchColumns row : rows) {
+                    ps.setString(1, row.numberHash());
+                    ps.setString(2, row.last4());
+                    ps.setObject(3, row.id());
+                    ps.addBatch();
+                }
+                int updated = 0;
+                for (int n : ps.executeBatch()) {
+                    updated += Math.max(n, 0);
+                }
+                return updated;
+            }
+        });
+    }
+
+    private <R> Slice<R> slice(Class<R> type, Function<Root<Card>, Selection<?>[]> columns,
+                               Specification<Card> spec, Pageable pageable) {
+        int size = pageable.getPageSize();
+        List<R> rows = rowQuery(type, columns, spec, pageable.getSort())
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    private <R> TypedQuery<R> rowQuery(Class<R> type, Function<Root<Card>, Selection<?>[]> columns,
+                                       Specification<Card> spec, Sort sort) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(type);
+        Root<Card> root = query.from(Card.class);
+        query.select(cb.construct(type, columns.apply(root)));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return em.createQuery(query);
+    }
+
+    private static Selection<?>[] cardColumns(Root<Card> root) {
+        return new Selection<?>[]{
+                root.get("id"),
+                root.get("last4"),
+                root.get("number"),
+                root.get("status"),
+                root.get("balance"),
+                root.get("expiry"),
+                root.get("createdAt")
+        };
+    }
+
+    private static Selection<?>[] adminColumns(Root<Card> root) {
+        return new Selection<?>[]{
+                root.get("id"),
+                root.get("owner").get("id"),
+                root.get("last4"),
+                root.get("number"),
+                root.get("status"),
+                root.get("balance"),
+                root.get("expiry"),
+                root.get("createdAt")
+        };
+    }
+
+    private long count(Specification<Card> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Card> root = query.from(Card.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        return em.createQuery(query).getSingleResult();
+    }
+}
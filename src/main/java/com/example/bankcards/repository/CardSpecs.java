@@ -2,12 +2,24 @@ package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.User;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.UUID;
 
 public class CardSpecs {
+    private static final char LIKE_ESCAPE = '\\';
+
+    public static Specification<Card> any() {
+        return (root, q, cb) -> null;
+    }
+
     public static Specification<Card> ownedBy(UUID userId) {
         return (root, query, cb) -> {
             if (Card.class.equals(query.getResultType())) {
@@ -19,7 +31,56 @@ public class CardSpecs {
     }
 
     public static Specification<Card> byStatus(String status) {
-        return (root, q, cb) -> cb.equal(root.get("status"), CardStatus.valueOf(status));
+        return hasStatus(CardStatus.valueOf(status));
+    }
+
+    public static Specification<Card> hasStatus(CardStatus status) {
+        return (root, q, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Card> hasLast4(String last4) {
+        return (root, q, cb) -> cb.equal(root.get("last4"), last4);
+    }
+
+    public static Specification<Card> expiresFrom(LocalDate from) {
+        return (root, q, cb) -> cb.greaterThanOrEqualTo(root.get("expiry"), from);
+    }
+
+    public static Specification<Card> expiresTo(LocalDate to) {
+        return (root, q, cb) -> cb.lessThanOrEqualTo(root.get("expiry"), to);
+    }
+
+    public static Specification<Card> matchesSearch(String term) {
+        String pattern = "%" + escapeLike(term.trim().toLowerCase()) + "%";
+        return (root, q, cb) -> cb.or(
+                cb.like(root.get("last4"), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(owner(root).get("username")), pattern, LIKE_ESCAPE)
+        );
+    }
+
+    public static Specification<Card> after(Instant createdAt, UUID id) {
+        return (root, q, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(
+                        cb.lessThan(root.get("createdAt"), createdAt),
+                        cb.and(cb.equal(root.get("createdAt"), createdAt), cb.greaterThan(root.get("id"), id))
+                )
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Join<Card, User> owner(Root<Card> root) {
+        for (Fetch<Card, ?> fetch : root.getFetches()) {
+            if ("owner".equals(fetch.getAttribute().getName())) return (Join<Card, User>) fetch;
+        }
+        for (Join<Card, ?> join : root.getJoins()) {
+            if ("owner".equals(join.getAttribute().getName())) return (Join<Card, User>) join;
+        }
+        return root.join("owner");
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
 
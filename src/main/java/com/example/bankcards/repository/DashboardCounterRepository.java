@@ -0,0 +1,34 @@
+package com.example.bankcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class DashboardCounterRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<String, BigDecimal> findAll() {
+        Map<String, BigDecimal> values = new HashMap<>();
+        jdbcTemplate.query("SELECT name, value FROM dashboard_counters",
+                rs -> { values.put(rs.getString(1), rs.getBigDecimal(2)); });
+        return values;
+    }
+
+    public void addAll(Map<String, BigDecimal> deltas) {
+        List<Object[]> args = deltas.entrySet().stream()
+                .map(e -> new Object[]{e.getKey(), e.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO dashboard_counters (name, value) VALUES (?, ?)
+                ON CONFLICT (name) DO UPDATE
+                    SET value = dashboard_counters.value + EXCLUDED.value, updated_at = now()
+                """, args);
+    }
+}
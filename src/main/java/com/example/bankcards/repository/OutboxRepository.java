@@ -0,0 +1,66 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.event.OutboxEventType;
+import com.example.bankcards.event.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Entry(OutboxEventType type, UUID aggregateId, String payload) {
+    }
+
+    public record Failure(long id, String error) {
+    }
+
+    public void append(List<Entry> entries) {
+        if (entries.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox (event_type, aggregate_id, payload) VALUES (?, ?, ?::jsonb)",
+                entries.stream().map(e -> new Object[]{e.type().name(), e.aggregateId(), e.payload()}).toList());
+    }
+
+    public List<OutboxMessage> claim(int limit) {
+        return jdbcTemplate.query("""
+                        SELECT id, event_type, aggregate_id, payload::text, attempts FROM outbox
+                        WHERE dead_at IS NULL AND available_at <= now()
+                        ORDER BY id
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED
+                        """,
+                (rs, i) -> new OutboxMessage(rs.getLong(1), OutboxEventType.valueOf(rs.getString(2)),
+                        rs.getObject(3, UUID.class), rs.getString(4), rs.getInt(5)),
+                limit);
+    }
+
+    public int delete(List<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        return jdbcTemplate.update("DELETE FROM outbox WHERE id = ANY (?)",
+                (Object) ids.toArray(Long[]::new));
+    }
+
+    public void reschedule(List<Failure> failures, long delayMs) {
+        if (failures.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                        UPDATE outbox
+                        SET attempts = attempts + 1, last_error = ?,
+                            available_at = now() + ? * interval '1 millisecond'
+                        WHERE id = ?
+                        """,
+                failures.stream().map(f -> new Object[]{f.error(), delayMs, f.id()}).toList());
+    }
+
+    public void markDead(List<Failure> failures) {
+        if (failures.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "UPDATE outbox SET attempts = attempts + 1, last_error = ?, dead_at = now() WHERE id = ?",
+                failures.stream().map(f -> new Object[]{f.error(), f.id()}).toList());
+    }
+}
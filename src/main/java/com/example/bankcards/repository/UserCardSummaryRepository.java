@@ -0,0 +1,9 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.UserCardSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface UserCardSummaryRepository extends JpaRepository<UserCardSummary, UUID>, UserCardSummaryRepositoryCustom {
+}
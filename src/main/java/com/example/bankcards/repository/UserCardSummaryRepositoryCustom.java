@@ -0,0 +1,12 @@
+package com.example.bankcards.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserCardSummaryRepositoryCustom {
+    record SummaryDelta(UUID userId, BigDecimal balance, int active, int blocked, int expired) {
+    }
+
+    void applyDeltas(List<SummaryDelta> deltas);
+}
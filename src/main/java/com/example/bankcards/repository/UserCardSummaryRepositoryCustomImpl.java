@@ -0,0 +1,33 @@
+package com.example.bankcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserCardSummaryRepositoryCustomImpl implements UserCardSummaryRepositoryCustom {
+    private static final String UPSERT_SQL = """
+            INSERT INTO user_card_summary AS s (user_id, total_balance, active_count, blocked_count, expired_count, updated_at)
+            VALUES (?, ?, ?, ?, ?, now())
+            ON CONFLICT (user_id) DO UPDATE SET
+                total_balance = s.total_balance + EXCLUDED.total_balance,
+                active_count = s.active_count + EXCLUDED.active_count,
+                blocked_count = s.blocked_count + EXCLUDED.blocked_count,
+                expired_count = s.expired_count + EXCLUDED.expired_count,
+                updated_at = now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void applyDeltas(List<SummaryDelta> deltas) {
+        if (deltas.isEmpty()) return;
+        List<Object[]> args = deltas.stream()
+                .sorted(Comparator.comparing(SummaryDelta::userId))
+                .map(d -> new Object[]{d.userId(), d.balance(), d.active(), d.blocked(), d.expired()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+    }
+}
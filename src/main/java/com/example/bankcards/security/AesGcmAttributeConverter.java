@@ -1,7 +1,11 @@
 package com.example.bankcards.security;
 
 
+import com.example.bankcards.config.properties.AesGcmProperties;
 import com.example.bankcards.config.properties.EncryptionProperties;
+import com.example.bankcards.jfr.CardNumberCipherEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,48 +17,97 @@ import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Converter
 @Component
 public class AesGcmAttributeConverter implements AttributeConverter<String, String> {
+    public static final String ENCRYPT_TIMER = "bankcards.card.number.encrypt";
+    public static final String DECRYPT_TIMER = "bankcards.card.number.decrypt";
     private static final String ALGO = "AES/GCM/NoPadding";
     private static final int IV_SIZE = 12;
     private static final int TAG_BIT_LENGTH = 128;
-    private final SecretKey key;
+    private static final char KEY_ID_SEPARATOR = ':';
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private final SecretKey legacyKey;
+    private final Map<String, SecretKey> keys = new HashMap<>();
+    private final String activeKeyId;
+    private final Timer encryptTimer;
+    private final Timer decryptTimer;
 
     @Autowired
-    public AesGcmAttributeConverter(EncryptionProperties encryptionProperties) {
-        String base64Key = encryptionProperties.aesGcm().key();
-        if (base64Key == null) throw new IllegalStateException("ENCRYPTION_KEY not set");
-        byte[] decoded = Base64.getDecoder().decode(base64Key);
-        key = new SecretKeySpec(decoded, "AES");
+    public AesGcmAttributeConverter(EncryptionProperties encryptionProperties, MeterRegistry meterRegistry) {
+        encryptTimer = timer(meterRegistry, ENCRYPT_TIMER);
+        decryptTimer = timer(meterRegistry, DECRYPT_TIMER);
+        AesGcmProperties props = encryptionProperties.aesGcm();
+        String base64Key = props.key();
+        legacyKey = base64Key == null || base64Key.isBlank() ? null : toKey(base64Key);
+        if (props.keys() != null) {
+            props.keys().forEach((id, value) -> {
+                if (id.indexOf(KEY_ID_SEPARATOR) >= 0) throw new IllegalStateException("Invalid encryption key id: " + id);
+                keys.put(id, toKey(value));
+            });
+        }
+        activeKeyId = props.activeKeyId() == null || props.activeKeyId().isBlank() ? null : props.activeKeyId();
+        if (activeKeyId == null && legacyKey == null) throw new IllegalStateException("ENCRYPTION_KEY not set");
+        if (activeKeyId != null && !keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Active encryption key not configured: " + activeKeyId);
+        }
     }
 
     @Override
     public String convertToDatabaseColumn(String attribute) {
         if (attribute == null) return null;
+        long started = System.nanoTime();
+        CardNumberCipherEvent event = new CardNumberCipherEvent();
+        event.begin();
         try {
             Cipher cipher = Cipher.getInstance(ALGO);
             byte[] iv = new byte[IV_SIZE];
-            SecureRandom.getInstanceStrong().nextBytes(iv);
+            RANDOM.nextBytes(iv);
             GCMParameterSpec spec = new GCMParameterSpec(TAG_BIT_LENGTH, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, key, spec);
+            cipher.init(Cipher.ENCRYPT_MODE, activeKeyId == null ? legacyKey : keys.get(activeKeyId), spec);
             byte[] cipherText = cipher.doFinal(attribute.getBytes());
             ByteBuffer buf = ByteBuffer.allocate(iv.length + cipherText.length);
             buf.put(iv);
             buf.put(cipherText);
-            return Base64.getEncoder().encodeToString(buf.array());
+            String encoded = Base64.getEncoder().encodeToString(buf.array());
+            return activeKeyId == null ? encoded : activeKeyId + KEY_ID_SEPARATOR + encoded;
         } catch (Exception e) {
             throw new RuntimeException("Encryption failed", e);
+        } finally {
+            encryptTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            event.finish(CardNumberCipherEvent.ENCRYPT, activeKeyId);
         }
     }
 
     @Override
     public String convertToEntityAttribute(String dbData) {
         if (dbData == null) return null;
+        long started = System.nanoTime();
+        CardNumberCipherEvent event = new CardNumberCipherEvent();
+        event.begin();
+        int sep = dbData.indexOf(KEY_ID_SEPARATOR);
+        String keyId = sep < 0 ? null : dbData.substring(0, sep);
         try {
-            byte[] all = Base64.getDecoder().decode(dbData);
+            return decrypt(dbData, sep, keyId);
+        } finally {
+            decryptTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            event.finish(CardNumberCipherEvent.DECRYPT, keyId);
+        }
+    }
+
+    private String decrypt(String dbData, int sep, String keyId) {
+        SecretKey key = keyId == null ? legacyKey : keys.get(keyId);
+        if (key == null) {
+            throw new IllegalStateException("No decryption key for key id: " + (keyId == null ? "<legacy>" : keyId));
+        }
+        try {
+            byte[] all = Base64.getDecoder().decode(dbData.substring(sep + 1));
             ByteBuffer buf = ByteBuffer.wrap(all);
             byte[] iv = new byte[IV_SIZE];
             buf.get(iv);
@@ -69,4 +122,30 @@ public class AesGcmAttributeConverter implements AttributeConverter<String, Stri
             throw new RuntimeException("Decryption failed", e);
         }
     }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public boolean isEncryptedWithActiveKey(String dbData) {
+        int sep = dbData.indexOf(KEY_ID_SEPARATOR);
+        if (activeKeyId == null) return sep < 0;
+        return sep == activeKeyId.length() && dbData.startsWith(activeKeyId);
+    }
+
+    public String reencrypt(String dbData) {
+        return convertToDatabaseColumn(convertToEntityAttribute(dbData));
+    }
+
+    private static Timer timer(MeterRegistry registry, String name) {
+        return Timer.builder(name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(500))
+                .maximumExpectedValue(Duration.ofMillis(10))
+                .register(registry);
+    }
+
+    private static SecretKey toKey(String base64Key) {
+        return new SecretKeySpec(Base64.getDecoder().decode(base64Key), "AES");
+    }
 }
@@ -0,0 +1,41 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.properties.BlindIndexProperties;
+import com.example.bankcards.config.properties.EncryptionProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Component
+public class CardNumberBlindIndex {
+    private static final String ALGO = "HmacSHA256";
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    public CardNumberBlindIndex(EncryptionProperties encryptionProperties) {
+        BlindIndexProperties props = encryptionProperties.blindIndex();
+        if (props == null || props.key() == null) throw new IllegalStateException("BLIND_INDEX_KEY not set");
+        key = new SecretKeySpec(Base64.getDecoder().decode(props.key()), ALGO);
+        mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String hash(String number) {
+        if (number == null) return null;
+        byte[] digest = mac.get().doFinal(number.getBytes(StandardCharsets.US_ASCII));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance(ALGO);
+            m.init(key);
+            return m;
+        } catch (Exception e) {
+            throw new IllegalStateException("HMAC init failed", e);
+        }
+    }
+}
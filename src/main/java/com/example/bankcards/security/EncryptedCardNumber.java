@@ -0,0 +1,78 @@
+package com.example.bankcards.security;
+
+import org.hibernate.annotations.Mutability;
+
+import java.io.Serializable;
+import java.util.function.UnaryOperator;
+
+@Mutability(EncryptedCardNumberMutabilityPlan.class)
+public final class EncryptedCardNumber implements Serializable {
+    private transient volatile UnaryOperator<String> decryptor;
+    private volatile String ciphertext;
+    private transient volatile String plain;
+    private final boolean loaded;
+
+    private EncryptedCardNumber(String ciphertext, String plain, UnaryOperator<String> decryptor) {
+        this.loaded = ciphertext != null;
+        this.ciphertext = ciphertext;
+        this.plain = plain;
+        this.decryptor = decryptor;
+    }
+
+    public static EncryptedCardNumber ofPlain(String plain) {
+        return plain == null ? null : new EncryptedCardNumber(null, plain, null);
+    }
+
+    static EncryptedCardNumber ofCiphertext(String ciphertext, UnaryOperator<String> decryptor) {
+        return ciphertext == null ? null : new EncryptedCardNumber(ciphertext, null, decryptor);
+    }
+
+    public String plain() {
+        String p = plain;
+        if (p == null) {
+            p = decryptor.apply(ciphertext);
+            plain = p;
+        }
+        return p;
+    }
+
+    public boolean isDecrypted() {
+        return plain != null;
+    }
+
+    String ciphertext(UnaryOperator<String> encryptor, UnaryOperator<String> decryptor) {
+        String c = ciphertext;
+        if (c == null) {
+            c = encryptor.apply(plain);
+            this.decryptor = decryptor;
+            ciphertext = c;
+        }
+        return c;
+    }
+
+    EncryptedCardNumber withoutPlain() {
+        String c = ciphertext;
+        return c == null ? this : new EncryptedCardNumber(c, null, decryptor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EncryptedCardNumber other)) return false;
+        return loaded == other.loaded && identity().equals(other.identity());
+    }
+
+    @Override
+    public int hashCode() {
+        return identity().hashCode();
+    }
+
+    private String identity() {
+        return loaded ? ciphertext : plain;
+    }
+
+    @Override
+    public String toString() {
+        return "EncryptedCardNumber[****]";
+    }
+}
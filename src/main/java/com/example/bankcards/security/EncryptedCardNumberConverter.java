@@ -0,0 +1,26 @@
+package com.example.bankcards.security;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.Mutability;
+import org.springframework.stereotype.Component;
+
+@Converter
+@Component
+@Mutability(EncryptedCardNumberMutabilityPlan.class)
+@RequiredArgsConstructor
+public class EncryptedCardNumberConverter implements AttributeConverter<EncryptedCardNumber, String> {
+    private final AesGcmAttributeConverter cipher;
+
+    @Override
+    public String convertToDatabaseColumn(EncryptedCardNumber attribute) {
+        if (attribute == null) return null;
+        return attribute.ciphertext(cipher::convertToDatabaseColumn, cipher::convertToEntityAttribute);
+    }
+
+    @Override
+    public EncryptedCardNumber convertToEntityAttribute(String dbData) {
+        return EncryptedCardNumber.ofCiphertext(dbData, cipher::convertToEntityAttribute);
+    }
+}
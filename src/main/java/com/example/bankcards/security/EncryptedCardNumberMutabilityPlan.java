@@ -0,0 +1,28 @@
+package com.example.bankcards.security;
+
+import org.hibernate.SharedSessionContract;
+import org.hibernate.type.descriptor.java.MutabilityPlan;
+
+import java.io.Serializable;
+
+public class EncryptedCardNumberMutabilityPlan implements MutabilityPlan<EncryptedCardNumber> {
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public EncryptedCardNumber deepCopy(EncryptedCardNumber value) {
+        return value;
+    }
+
+    @Override
+    public Serializable disassemble(EncryptedCardNumber value, SharedSessionContract session) {
+        return value == null ? null : value.withoutPlain();
+    }
+
+    @Override
+    public EncryptedCardNumber assemble(Serializable cached, SharedSessionContract session) {
+        return cached == null ? null : ((EncryptedCardNumber) cached).withoutPlain();
+    }
+}
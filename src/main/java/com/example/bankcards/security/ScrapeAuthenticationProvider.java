@@ -0,0 +1,44 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.properties.PrometheusScrapeProperties;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+public class ScrapeAuthenticationProvider implements AuthenticationProvider {
+    public static final String ROLE = "METRICS";
+
+    private final PrometheusScrapeProperties properties;
+
+    public ScrapeAuthenticationProvider(PrometheusScrapeProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        String password = properties.password();
+        if (password == null || password.isBlank()
+                || !equal(properties.username(), authentication.getName())
+                || !equal(password, String.valueOf(authentication.getCredentials()))) {
+            throw new BadCredentialsException("Bad scrape credentials");
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + ROLE)));
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    private static boolean equal(String expected, String actual) {
+        if (expected == null || actual == null) return false;
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+    }
+}
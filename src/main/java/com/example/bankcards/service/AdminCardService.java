@@ -1,55 +1,116 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.card.AdminCardDto;
+import com.example.bankcards.dto.card.AdminCardFilter;
+import com.example.bankcards.dto.card.AdminCardRow;
+import com.example.bankcards.dto.card.AdminCardScrollResponse;
+import com.example.bankcards.dto.card.CardCursor;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardUpdateDto;
 import com.example.bankcards.dto.card.CreateCardRequest;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.CardUpdatesEvent;
 import com.example.bankcards.exception.ForbiddenException;
 import com.example.bankcards.exception.ResourceNotFoundException;
 import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.CardSpecs;
 import com.example.bankcards.repository.TransferRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardNumberBlindIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AdminCardService {
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("id"));
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String CSV_HEADER = "id,ownerId,maskedNumber,status,balance,expiry,createdAt\n";
+
     private final CardRepository cardRepository;
     private final TransferRepository transferRepository;
     private final UserRepository userRepository;
+    private final CardNumberBlindIndex blindIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CardSummaryService cardSummaryService;
+    private final DashboardCounterService dashboardCounterService;
+    private final OutboxService outboxService;
 
+    @Transactional
     public CardDto createCard(CreateCardRequest req) {
         YearMonth ym = YearMonth.parse(req.getExpiry());
         LocalDate expiryDate = ym.atEndOfMonth();
 
+        String numberHash = blindIndex.hash(req.getNumber());
+        if (cardRepository.existsByNumberHash(numberHash)) {
+            throw new IllegalArgumentException("Card with this number already exists");
+        }
+
         User owner = userRepository.findById(req.getOwnerId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         Card card = Card.builder()
                 .owner(owner)
                 .number(req.getNumber())
+                .numberHash(numberHash)
+                .last4(Card.last4Of(req.getNumber()))
                 .expiry(expiryDate)
                 .status(CardStatus.ACTIVE)
                 .balance(req.getBalance())
                 .build();
         log.info("Create card: {}", card);
-        return CardDto.from(cardRepository.save(card));
+        Card saved = cardRepository.save(card);
+        cardSummaryService.cardAdded(saved);
+        dashboardCounterService.cardAdded(saved);
+        eventPublisher.publishEvent(new CardChangedEvent(owner.getId()));
+        eventPublisher.publishEvent(CardUpdatesEvent.of(owner.getId(), CardUpdateDto.created(saved)));
+        return CardDto.from(saved);
+    }
+
+    public CardDto findByNumber(String number) {
+        return cardRepository.findRowByNumberHash(blindIndex.hash(number))
+                .map(CardDto::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Card not found"));
     }
 
+    @Transactional
     public CardDto changeStatus(UUID id, CardStatus status) {
         Card card = cardRepository.findById(id).orElseThrow();
+        CardStatus previous = card.getStatus();
         card.setStatus(status);
         log.info("Card status changed to {}", status);
-        return CardDto.from(cardRepository.save(card));
+        Card saved = cardRepository.save(card);
+        cardSummaryService.statusChanged(card.getOwner().getId(), previous, status);
+        dashboardCounterService.statusChanged(previous, status);
+        outboxService.cardStatusChanged(card.getId(), card.getOwner().getId(), previous, status);
+        eventPublisher.publishEvent(new CardChangedEvent(card.getOwner().getId()));
+        eventPublisher.publishEvent(CardUpdatesEvent.of(card.getOwner().getId(), CardUpdateDto.status(card.getId(), status)));
+        return CardDto.from(saved);
     }
 
+    @Transactional
     public void deleteCard(UUID id) {
         Card card = cardRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Card not found"));
@@ -59,6 +120,76 @@ public class AdminCardService {
             throw new ForbiddenException("Cannot delete card with existing transfers");
         }
         cardRepository.delete(card);
+        cardSummaryService.cardRemoved(card);
+        dashboardCounterService.cardRemoved(card);
+        eventPublisher.publishEvent(new CardChangedEvent(card.getOwner().getId()));
+        eventPublisher.publishEvent(CardUpdatesEvent.of(card.getOwner().getId(), CardUpdateDto.deleted(card.getId())));
         log.info("Delete card with id {}", id);
     }
+
+    @Transactional(readOnly = true)
+    public AdminCardScrollResponse search(AdminCardFilter filter, int size, String after) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Specification<Card> spec = matching(filter);
+        if (after != null && !after.isBlank()) {
+            CardCursor cursor = CardCursor.decode(after);
+            spec = spec.and(CardSpecs.after(cursor.createdAt(), cursor.id()));
+        }
+
+        Slice<AdminCardRow> rows = cardRepository.findAdminRowSlice(spec, PageRequest.of(0, size, KEYSET_SORT));
+        String next = rows.hasNext()
+                ? CardCursor.of(rows.getContent().get(rows.getNumberOfElements() - 1)).encode()
+                : null;
+        return new AdminCardScrollResponse(rows.map(AdminCardDto::from).getContent(), next, next != null);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(AdminCardFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        try {
+            cardRepository.forEachAdminRow(matching(filter), KEYSET_SORT, row -> writeCsv(writer, row));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static Specification<Card> matching(AdminCardFilter filter) {
+        Specification<Card> spec = CardSpecs.any();
+        if (filter.ownerId() != null) {
+            spec = spec.and(CardSpecs.ownedBy(filter.ownerId()));
+        }
+        if (filter.status() != null) {
+            spec = spec.and(CardSpecs.hasStatus(filter.status()));
+        }
+        if (filter.last4() != null) {
+            spec = spec.and(CardSpecs.hasLast4(filter.last4()));
+        }
+        if (filter.expiryFrom() != null) {
+            spec = spec.and(CardSpecs.expiresFrom(filter.expiryFrom()));
+        }
+        if (filter.expiryTo() != null) {
+            spec = spec.and(CardSpecs.expiresTo(filter.expiryTo()));
+        }
+        return spec;
+    }
+
+    private static void writeCsv(Writer writer, AdminCardRow row) {
+        try {
+            writer.write(String.join(",",
+                    row.id().toString(),
+                    row.ownerId().toString(),
+                    Objects.requireNonNullElse(row.maskedNumber(), ""),
+                    row.status().name(),
+                    row.balance().toPlainString(),
+                    row.expiry().toString(),
+                    row.createdAt().toString()));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
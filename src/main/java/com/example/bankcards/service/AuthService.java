@@ -5,11 +5,13 @@ import com.example.bankcards.dto.auth.LoginRequest;
 import com.example.bankcards.dto.auth.RegistryRequest;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.event.UserChangedEvent;
 import com.example.bankcards.exception.ForbiddenException;
 import com.example.bankcards.repository.UserRepository;
 import com.nimbusds.jwt.JWTClaimsSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +25,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthResponse signUp(RegistryRequest request) {
         if (userRepository.existsByUsername((request.getUsername()))) {
@@ -37,6 +40,7 @@ public class AuthService {
                 .enabled(true)
                 .build();
         userRepository.save(newUser);
+        eventPublisher.publishEvent(new UserChangedEvent(newUser.getId()));
         log.info("New user with username {} created", request.getUsername());
 
         return generateTokens(newUser);
@@ -0,0 +1,277 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.CacheInvalidationProperties;
+import com.example.bankcards.dto.card.CardUpdateDto;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.event.CardUpdatesEvent;
+import com.example.bankcards.event.RemoteInvalidationEvent;
+import com.example.bankcards.event.UserChangedEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class CacheInvalidationBus {
+    static final int MAX_PAYLOAD_BYTES = 7900;
+    static final String EVERYTHING = "*";
+    private static final long IDLE_POLL_MS = 500;
+    private static final long VALIDATE_IDLE_MS = 30_000;
+
+    private final CacheInvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher publisher;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public CacheInvalidationBus(CacheInvalidationProperties properties, DataSourceProperties dataSourceProperties,
+                                JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                ApplicationEventPublisher publisher) {
+        if (!properties.channel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid cache invalidation channel: " + properties.channel());
+        }
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.publisher = publisher;
+    }
+
+    @EventListener
+    public void onCardUpdates(CardUpdatesEvent event) {
+        List<String> keys = new ArrayList<>(event.updates().size() + 1);
+        keys.add("o" + event.ownerId());
+        for (CardUpdateDto update : event.updates()) {
+            keys.add("c" + update.id());
+        }
+        record(keys);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        record(List.of("u" + event.userId()));
+    }
+
+    private void record(List<String> keys) {
+        if (!properties.enabled()) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(keys);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> txKeys = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (txKeys == null) {
+            Set<String> bound = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    publish(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            txKeys = bound;
+        }
+        txKeys.addAll(keys);
+    }
+
+    private void publish(Collection<String> keys) {
+        if (keys.isEmpty()) return;
+        Collection<String> sent = keys.size() > properties.maxPendingKeys() ? List.of(EVERYTHING) : keys;
+        for (String payload : encode(nodeId, sent)) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, properties.channel(), payload);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled() || running) return;
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) listener.join(IDLE_POLL_MS * 4);
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.channel());
+                }
+                if (connectedBefore) {
+                    log.info("Cache invalidation listener reconnected, evicting all cached cards and users");
+                    apply(new Pending(true));
+                }
+                connectedBefore = true;
+                receive(connection);
+            } catch (SQLException e) {
+                if (!running) return;
+                log.warn("Cache invalidation listener disconnected: {}", e.getMessage());
+                try {
+                    Thread.sleep(properties.reconnectMs());
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        Pending pending = new Pending(false);
+        long lastTraffic = System.currentTimeMillis();
+        while (running) {
+            long now = System.currentTimeMillis();
+            long wait = pending.isEmpty() ? IDLE_POLL_MS : Math.max(1, pending.since + properties.coalesceMs() - now);
+            PGNotification[] notifications = pg.getNotifications((int) wait);
+            now = System.currentTimeMillis();
+            if (notifications != null && notifications.length > 0) {
+                lastTraffic = now;
+                for (PGNotification notification : notifications) {
+                    if (decode(nodeId, notification.getParameter(), pending, now)) pending = new Pending(true);
+                }
+                if (pending.size() > properties.maxPendingKeys()) pending = new Pending(true);
+            } else if (now - lastTraffic > VALIDATE_IDLE_MS) {
+                if (!connection.isValid(5)) throw new SQLException("Listener connection is no longer valid");
+                lastTraffic = now;
+            }
+            if (!pending.isEmpty() && now - pending.since >= properties.coalesceMs()) {
+                apply(pending);
+                pending = new Pending(false);
+            }
+        }
+    }
+
+    private void apply(Pending pending) {
+        try {
+            jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+            if (pending.all) {
+                cache.evict(Card.class);
+                cache.evict(User.class);
+            } else {
+                pending.cardIds.forEach(id -> cache.evict(Card.class, id));
+                pending.userIds.forEach(id -> cache.evict(User.class, id));
+            }
+            publisher.publishEvent(pending.all
+                    ? RemoteInvalidationEvent.everything()
+                    : new RemoteInvalidationEvent(false, pending.ownerIds, pending.cardIds, pending.userIds));
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply remote cache invalidation", e);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties info = new Properties();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        if (username != null) info.setProperty("user", username);
+        if (password != null) info.setProperty("password", password);
+        info.setProperty("ApplicationName", "bankcards-cache-invalidation");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), info);
+    }
+
+    static List<String> encode(String nodeId, Collection<String> keys) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        for (String key : keys) {
+            if (payload.length() > nodeId.length()
+                    && payload.length() + 1 + key.length() > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(nodeId);
+            }
+            payload.append(' ').append(key);
+        }
+        if (payload.length() > nodeId.length()) payloads.add(payload.toString());
+        return payloads;
+    }
+
+    static boolean decode(String nodeId, String payload, Pending pending, long now) {
+        if (payload == null || payload.startsWith(nodeId)) return false;
+        String[] tokens = payload.split(" ");
+        for (int i = 1; i < tokens.length; i++) {
+            String token = tokens[i];
+            if (token.equals(EVERYTHING)) return true;
+            if (token.length() < 2) continue;
+            UUID id;
+            try {
+                id = UUID.fromString(token.substring(1));
+            } catch (IllegalArgumentException e) {
+                log.debug("Skipping malformed cache invalidation key {}", token);
+                continue;
+            }
+            switch (token.charAt(0)) {
+                case 'o' -> pending.add(pending.ownerIds, id, now);
+                case 'c' -> pending.add(pending.cardIds, id, now);
+                case 'u' -> pending.add(pending.userIds, id, now);
+                default -> log.debug("Skipping unknown cache invalidation key {}", token);
+            }
+        }
+        return false;
+    }
+
+    static final class Pending {
+        final boolean all;
+        final Set<UUID> ownerIds = new HashSet<>();
+        final Set<UUID> cardIds = new HashSet<>();
+        final Set<UUID> userIds = new HashSet<>();
+        long since;
+
+        Pending(boolean all) {
+            this.all = all;
+            this.since = all ? System.currentTimeMillis() : 0;
+        }
+
+        void add(Set<UUID> keys, UUID id, long now) {
+            if (all) return;
+            if (isEmpty()) since = now;
+            keys.add(id);
+        }
+
+        boolean isEmpty() {
+            return !all && ownerIds.isEmpty() && cardIds.isEmpty() && userIds.isEmpty();
+        }
+
+        int size() {
+            return ownerIds.size() + cardIds.size() + userIds.size();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.CardImportProperties;
+import com.example.bankcards.dto.card.BulkIssueResult;
+import com.example.bankcards.dto.card.CardUpdateDto;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.CardUpdatesEvent;
+import com.example.bankcards.repository.CardCopyRepository;
+import com.example.bankcards.repository.CardCopyRepository.CardCopyRow;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.AesGcmAttributeConverter;
+import com.example.bankcards.security.CardNumberBlindIndex;
+import com.example.bankcards.service.CardSummaryService.IssuedCards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class CardBulkIssueService {
+    private static final Pattern NUMBER = Pattern.compile("\\d{12,19}");
+    private static final String HEADER_PREFIX = "ownerId";
+    private static final int BALANCE_INTEGER_DIGITS = 15;
+    private static final int BALANCE_FRACTION_DIGITS = 4;
+
+    private final CardCopyRepository copyRepository;
+    private final UserRepository userRepository;
+    private final AesGcmAttributeConverter cipher;
+    private final CardNumberBlindIndex blindIndex;
+    private final CardSummaryService cardSummaryService;
+    private final DashboardCounterService dashboardCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CardImportProperties properties;
+    private final ExecutorService pool;
+
+    public CardBulkIssueService(CardCopyRepository copyRepository,
+                                UserRepository userRepository,
+                                AesGcmAttributeConverter cipher,
+                                CardNumberBlindIndex blindIndex,
+                                CardSummaryService cardSummaryService,
+                                DashboardCounterService dashboardCounterService,
+                                ApplicationEventPublisher eventPublisher,
+                                CardImportProperties properties) {
+        this.copyRepository = copyRepository;
+        this.userRepository = userRepository;
+        this.cipher = cipher;
+        this.blindIndex = blindIndex;
+        this.cardSummaryService = cardSummaryService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.pool = Executors.newFixedThreadPool(Math.max(1, properties.parallelism()), r -> {
+            Thread t = new Thread(r, "card-bulk-issue");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private record IssueLine(int line, UUID ownerId, String number, LocalDate expiry, BigDecimal balance) {
+    }
+
+    private static final class OwnerTotals {
+        private int count;
+        private BigDecimal balance = BigDecimal.ZERO;
+    }
+
+    private final class Import {
+        private final Set<UUID> knownOwners = new HashSet<>();
+        private final Set<String> seenHashes = new HashSet<>();
+        private final Map<UUID, OwnerTotals> totals = new HashMap<>();
+        private long issued;
+
+        private void flush(List<IssueLine> batch) {
+            if (batch.isEmpty()) return;
+            checkOwners(batch);
+            List<CardCopyRow> rows = batch.stream()
+                    .map(line -> CompletableFuture.supplyAsync(() -> toRow(line), pool))
+                    .toList().stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+            checkNumbers(batch, rows);
+            copyRepository.copyIn(rows);
+            for (CardCopyRow row : rows) {
+                OwnerTotals owner = totals.computeIfAbsent(row.ownerId(), id -> new OwnerTotals());
+                owner.count++;
+                owner.balance = owner.balance.add(row.balance());
+            }
+            issued += rows.size();
+        }
+
+        private void checkOwners(List<IssueLine> batch) {
+            Set<UUID> unknown = new HashSet<>();
+            for (IssueLine line : batch) {
+                if (!knownOwners.contains(line.ownerId())) unknown.add(line.ownerId());
+            }
+            if (unknown.isEmpty()) return;
+            knownOwners.addAll(userRepository.findExistingIds(unknown));
+            for (IssueLine line : batch) {
+                if (!knownOwners.contains(line.ownerId())) {
+                    throw new IllegalArgumentException("Line " + line.line() + ": user not found");
+                }
+            }
+        }
+
+        private void checkNumbers(List<IssueLine> batch, List<CardCopyRow> rows) {
+            for (int i = 0; i < rows.size(); i++) {
+                if (!seenHashes.add(rows.get(i).numberHash())) {
+                    throw new IllegalArgumentException("Line " + batch.get(i).line() + ": duplicate card number");
+                }
+            }
+            Set<String> existing = new HashSet<>(copyRepository.findExistingNumberHashes(
+                    rows.stream().map(CardCopyRow::numberHash).toList()));
+            if (existing.isEmpty()) return;
+            for (int i = 0; i < rows.size(); i++) {
+                if (existing.contains(rows.get(i).numberHash())) {
+                    throw new IllegalArgumentException("Line " + batch.get(i).line() + ": card with this number already exists");
+                }
+            }
+        }
+    }
+
+    @Transactional
+    public BulkIssueResult issue(InputStream csv) throws IOException {
+        int batchSize = Math.max(1, properties.batchSize());
+        LocalDate today = LocalDate.now();
+        Import run = new Import();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        List<IssueLine> batch = new ArrayList<>(batchSize);
+        String raw;
+        int lineNo = 0;
+        while ((raw = reader.readLine()) != null) {
+            lineNo++;
+            if (raw.isBlank() || (lineNo == 1 && raw.startsWith(HEADER_PREFIX))) continue;
+            batch.add(parse(lineNo, raw, today));
+            if (batch.size() == batchSize) {
+                run.flush(batch);
+                batch.clear();
+            }
+        }
+        run.flush(batch);
+
+        cardSummaryService.cardsIssued(run.totals.entrySet().stream()
+                .map(e -> new IssuedCards(e.getKey(), e.getValue().count, e.getValue().balance))
+                .toList());
+        run.totals.forEach((ownerId, owner) -> {
+            dashboardCounterService.cardsIssued(CardStatus.ACTIVE, owner.count, owner.balance);
+            eventPublisher.publishEvent(new CardChangedEvent(ownerId));
+            eventPublisher.publishEvent(CardUpdatesEvent.resync(ownerId));
+        });
+        log.info("Bulk issued {} cards for {} owners", run.issued, run.totals.size());
+        return new BulkIssueResult(run.issued, run.totals.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private CardCopyRow toRow(IssueLine line) {
+        return new CardCopyRow(
+                UUID.randomUUID(),
+                line.ownerId(),
+                cipher.convertToDatabaseColumn(line.number()),
+                blindIndex.hash(line.number()),
+                Card.last4Of(line.number()),
+                line.expiry(),
+                CardStatus.ACTIVE.name(),
+                line.balance());
+    }
+
+    private static IssueLine parse(int lineNo, String raw, LocalDate today) {
+        String[] fields = raw.split(",", -1);
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Line " + lineNo + ": expected ownerId,number,expiry,balance");
+        }
+        try {
+            UUID ownerId = UUID.fromString(fields[0].trim());
+            String number = fields[1].trim();
+            if (!NUMBER.matcher(number).matches()) {
+                throw new IllegalArgumentException("Card number must be 12..19 digits");
+            }
+            LocalDate expiry = YearMonth.parse(fields[2].trim()).atEndOfMonth();
+            if (expiry.isBefore(today)) {
+                throw new IllegalArgumentException("Card is already expired");
+            }
+            BigDecimal balance = new BigDecimal(fields[3].trim());
+            if (balance.signum() < 0) {
+                throw new IllegalArgumentException("Balance must not be negative");
+            }
+            BigDecimal digits = balance.stripTrailingZeros();
+            if (digits.scale() > BALANCE_FRACTION_DIGITS
+                    || digits.precision() - digits.scale() > BALANCE_INTEGER_DIGITS) {
+                throw new IllegalArgumentException("Balance must have at most "
+                        + BALANCE_INTEGER_DIGITS + " integer and " + BALANCE_FRACTION_DIGITS + " fraction digits");
+            }
+            return new IssueLine(lineNo, ownerId, number, expiry, balance);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Line " + lineNo + ": " + e.getMessage());
+        }
+    }
+}
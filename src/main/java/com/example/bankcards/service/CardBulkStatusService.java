@@ -0,0 +1,134 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.AdminCardFilter;
+import com.example.bankcards.dto.card.BulkStatusRequest;
+import com.example.bankcards.dto.card.BulkStatusResult;
+import com.example.bankcards.dto.card.CardUpdateDto;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.CardUpdatesEvent;
+import com.example.bankcards.repository.CardBulkStatusRepository;
+import com.example.bankcards.repository.CardBulkStatusRepository.ChangedCard;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CardBulkStatusService {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final CardBulkStatusRepository bulkStatusRepository;
+    private final CardSummaryService cardSummaryService;
+    private final DashboardCounterService dashboardCounterService;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+
+    public BulkStatusResult changeStatus(BulkStatusRequest req) {
+        AdminCardFilter filter = new AdminCardFilter(req.getCurrentStatus(), req.getOwnerId(),
+                req.getExpiryFrom(), req.getExpiryTo(), null);
+        boolean hasIds = req.getIds() != null && !req.getIds().isEmpty();
+        boolean hasFilter = filter.status() != null || filter.ownerId() != null
+                || filter.expiryFrom() != null || filter.expiryTo() != null;
+        if (!hasIds && !hasFilter) {
+            throw new IllegalArgumentException("Specify card ids or at least one filter");
+        }
+        return run(req.getIds(), filter, req.getStatus());
+    }
+
+    private BulkStatusResult run(List<UUID> ids, AdminCardFilter filter, CardStatus status) {
+        Set<UUID> owners = new HashSet<>();
+        long updated = 0;
+        UUID after = null;
+        while (true) {
+            UUID cursor = after;
+            List<ChangedCard> chunk = commitChunk(status, owners,
+                    () -> bulkStatusRepository.updateChunk(ids, filter, status, cursor, CHUNK_SIZE));
+            if (chunk.isEmpty()) break;
+
+            updated += chunk.size();
+            if (chunk.size() < CHUNK_SIZE) break;
+            after = chunk.get(chunk.size() - 1).id();
+        }
+        log.info("Bulk status change to {}: {} cards of {} owners", status, updated, owners.size());
+        return new BulkStatusResult(updated, owners.size());
+    }
+
+    public int expireDue(LocalDate today, int limit) {
+        return commitChunk(CardStatus.EXPIRED, new HashSet<>(),
+                () -> bulkStatusRepository.expireChunk(today, limit)).size();
+    }
+
+    private List<ChangedCard> commitChunk(CardStatus status, Set<UUID> owners, Supplier<List<ChangedCard>> update) {
+        List<ChangedCard> chunk = transactionTemplate.execute(tx -> {
+            List<ChangedCard> changed = update.get();
+            applyToSummary(changed, status);
+            outboxService.cardStatusesChanged(changed, status);
+            publishChanges(changed, status);
+            return changed;
+        });
+        if (chunk == null || chunk.isEmpty()) return List.of();
+        chunk.forEach(card -> owners.add(card.ownerId()));
+        return chunk;
+    }
+
+    private void applyToSummary(List<ChangedCard> changed, CardStatus status) {
+        Map<UUID, Map<CardStatus, Integer>> previous = new HashMap<>();
+        Map<CardStatus, Integer> total = new EnumMap<>(CardStatus.class);
+        for (ChangedCard card : changed) {
+            previous.computeIfAbsent(card.ownerId(), id -> new EnumMap<>(CardStatus.class))
+                    .merge(card.previous(), 1, Integer::sum);
+            total.merge(card.previous(), 1, Integer::sum);
+        }
+        cardSummaryService.statusesChanged(previous, status);
+        dashboardCounterService.statusesChanged(total, status);
+    }
+
+    private void publishChanges(List<ChangedCard> chunk, CardStatus status) {
+        if (chunk.isEmpty()) return;
+        evictAfterCommit(chunk);
+        Map<UUID, List<CardUpdateDto>> updates = new LinkedHashMap<>();
+        for (ChangedCard card : chunk) {
+            updates.computeIfAbsent(card.ownerId(), id -> new ArrayList<>()).add(CardUpdateDto.status(card.id(), status));
+        }
+        updates.forEach((ownerId, cards) -> {
+            eventPublisher.publishEvent(new CardChangedEvent(ownerId));
+            eventPublisher.publishEvent(new CardUpdatesEvent(ownerId, cards));
+        });
+    }
+
+    private void evictAfterCommit(List<ChangedCard> chunk) {
+        Runnable evict = () -> chunk.forEach(card -> entityManagerFactory.getCache().evict(Card.class, card.id()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.RemoteInvalidationEvent;
+import com.example.bankcards.repository.CardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class CardCountService {
+    public static final String CACHE = "cardCounts";
+
+    private final CardRepository cardRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CACHE, key = "#ownerId")
+    public Map<CardStatus, Long> countByStatus(UUID ownerId) {
+        Map<CardStatus, Long> counts = new EnumMap<>(CardStatus.class);
+        for (CardRepository.StatusCount row : cardRepository.countByOwnerGroupByStatus(ownerId)) {
+            counts.put(row.getStatus(), row.getTotal());
+        }
+        return Map.copyOf(counts);
+    }
+
+    @CacheEvict(cacheNames = CACHE, key = "#event.ownerId()")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardChanged(CardChangedEvent event) {
+    }
+
+    @EventListener
+    public void onRemoteInvalidation(RemoteInvalidationEvent event) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache == null) return;
+        if (event.all()) cache.clear();
+        else event.ownerIds().forEach(cache::evict);
+    }
+}
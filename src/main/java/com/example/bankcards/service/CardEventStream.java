@@ -0,0 +1,172 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.CardEventsProperties;
+import com.example.bankcards.dto.card.CardUpdateDto;
+import com.example.bankcards.event.CardUpdatesEvent;
+import com.example.bankcards.event.RemoteInvalidationEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class CardEventStream {
+    private static final Message HEARTBEAT = new Message(null, null);
+    private static final Message RESYNC = new Message("resync", null);
+
+    private final CardEventsProperties properties;
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService sender;
+
+    private record Message(String name, List<CardUpdateDto> data) {
+    }
+
+    public CardEventStream(CardEventsProperties properties) {
+        this.properties = properties;
+        this.sender = Executors.newFixedThreadPool(Math.max(1, properties.senderThreads()), r -> {
+            Thread t = new Thread(r, "card-events");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        return subscribe(userId, new SseEmitter(properties.timeoutMs()));
+    }
+
+    SseEmitter subscribe(UUID userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter, Math.max(1, properties.bufferSize()));
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, owned) -> {
+            Set<Subscriber> set = owned == null ? ConcurrentHashMap.newKeySet() : owned;
+            int excess = set.size() + 1 - Math.max(1, properties.maxStreamsPerUser());
+            if (excess > 0) {
+                set.stream().sorted(Comparator.comparingLong(s -> s.opened)).limit(excess).forEach(evicted::add);
+            }
+            set.add(subscriber);
+            return set;
+        });
+        connections.incrementAndGet();
+        for (Subscriber oldest : evicted) {
+            log.debug("Too many card event streams for user {}, closing the oldest", userId);
+            oldest.emitter.complete();
+            oldest.close();
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriber.close());
+        subscriber.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardUpdates(CardUpdatesEvent event) {
+        send(event.ownerId(), event.isResync() ? RESYNC : new Message("cards", event.updates()));
+    }
+
+    @EventListener
+    public void onRemoteInvalidation(RemoteInvalidationEvent event) {
+        if (event.all()) subscribers.keySet().forEach(ownerId -> send(ownerId, RESYNC));
+        else event.ownerIds().forEach(ownerId -> send(ownerId, RESYNC));
+    }
+
+    private void send(UUID ownerId, Message message) {
+        Set<Subscriber> owned = subscribers.get(ownerId);
+        if (owned == null) return;
+        for (Subscriber subscriber : owned) {
+            if (!subscriber.offer(message)) {
+                log.debug("Card event buffer overflow for user {}, closing stream", ownerId);
+                subscriber.emitter.complete();
+                subscriber.close();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.card-events.heartbeat-ms}")
+    public void heartbeat() {
+        subscribers.values().forEach(owned -> owned.forEach(subscriber -> {
+            if (subscriber.queue.isEmpty()) subscriber.offer(HEARTBEAT);
+        }));
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(owned -> owned.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final long opened = sequence.incrementAndGet();
+        private final Queue<Message> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(UUID userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingQueue<>(bufferSize);
+        }
+
+        private boolean offer(Message message) {
+            if (closed.get()) return true;
+            if (!queue.offer(message)) return false;
+            if (scheduled.compareAndSet(false, true)) sender.execute(this::drain);
+            return true;
+        }
+
+        private void drain() {
+            do {
+                Message message;
+                while (!closed.get() && (message = queue.poll()) != null) {
+                    try {
+                        emitter.send(message == HEARTBEAT
+                                ? SseEmitter.event().comment("")
+                                : SseEmitter.event().name(message.name()).data(message.data() == null ? "" : message.data()));
+                    } catch (Exception e) {
+                        close();
+                        return;
+                    }
+                }
+                scheduled.set(false);
+            } while (!closed.get() && !queue.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            queue.clear();
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(userId, (id, owned) -> {
+                owned.remove(this);
+                return owned.isEmpty() ? null : owned;
+            });
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.CardExpiryProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CardExpirySweeper {
+    private final CardBulkStatusService bulkStatusService;
+    private final CardExpiryProperties properties;
+
+    @Scheduled(cron = "${app.card-expiry.cron}")
+    public void sweepOnSchedule() {
+        if (!properties.enabled()) return;
+        long expired = sweep(LocalDate.now());
+        if (expired > 0) log.info("Cards marked as expired: {}", expired);
+    }
+
+    public long sweep(LocalDate today) {
+        int chunkSize = Math.max(1, properties.chunkSize());
+        long total = 0;
+        while (true) {
+            int expired = bulkStatusService.expireDue(today, chunkSize);
+            total += expired;
+            if (expired < chunkSize || !pause(properties.pauseMs())) return total;
+        }
+    }
+
+    private boolean pause(long millis) {
+        if (millis <= 0) return true;
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
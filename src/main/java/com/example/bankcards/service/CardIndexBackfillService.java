@@ -0,0 +1,95 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.EncryptionProperties;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.CardRepositoryCustom.SearchColumns;
+import com.example.bankcards.security.CardNumberBlindIndex;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CardIndexBackfillService {
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final CardRepository cardRepository;
+    private final CardNumberBlindIndex blindIndex;
+    private final EncryptionProperties encryptionProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        long updated = backfill();
+        if (updated > 0) log.info("Card search columns backfill finished, {} cards updated", updated);
+    }
+
+    public long backfill() {
+        int batchSize = Math.max(1, encryptionProperties.blindIndex().backfillBatchSize());
+        UUID after = MIN_ID;
+        long updated = 0;
+        while (true) {
+            List<Card> batch = cardRepository.findWithoutSearchColumns(after, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) return updated;
+            updated += fillBatch(batch);
+            after = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private int fillBatch(List<Card> batch) {
+        try {
+            Integer n = transactionTemplate.execute(status ->
+                    cardRepository.setSearchColumns(batch.stream().map(this::searchColumns).toList()));
+            evict(batch);
+            return n == null ? 0 : n;
+        } catch (DataIntegrityViolationException e) {
+            return fillOneByOne(batch);
+        }
+    }
+
+    private int fillOneByOne(List<Card> batch) {
+        int count = 0;
+        for (Card card : batch) {
+            try {
+                Integer n = transactionTemplate.execute(status ->
+                        cardRepository.setSearchColumns(List.of(searchColumns(card))));
+                count += n == null ? 0 : n;
+            } catch (DataIntegrityViolationException e) {
+                SearchColumns columns = searchColumns(card);
+                log.warn("Card {} has the same number as an already indexed card, hash left empty and recorded "
+                        + "in card_number_hash_conflicts", card.getId());
+                transactionTemplate.executeWithoutResult(status -> {
+                    cardRepository.setLast4(card.getId(), columns.last4());
+                    cardRepository.recordNumberHashConflict(card.getId(), columns.numberHash());
+                });
+            }
+        }
+        evict(batch);
+        return count;
+    }
+
+    private SearchColumns searchColumns(Card card) {
+        String number = card.getNumber();
+        return new SearchColumns(card.getId(), blindIndex.hash(number), Card.last4Of(number));
+    }
+
+    private void evict(List<Card> batch) {
+        for (Card card : batch) {
+            entityManagerFactory.getCache().evict(Card.class, card.getId());
+        }
+    }
+}
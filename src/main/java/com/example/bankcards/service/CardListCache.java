@@ -0,0 +1,83 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.CardListCacheProperties;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.event.CardBalanceChangedEvent;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.RemoteInvalidationEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+@Component
+public class CardListCache {
+    private static final int STRIPES = 1024;
+
+    private final Cache<UUID, Slice<CardDto>> firstPages;
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    private final int pageSize;
+
+    public CardListCache(CardListCacheProperties properties) {
+        this.pageSize = properties.pageSize();
+        this.firstPages = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+    }
+
+    public boolean isCacheable(int page, int size, String status, String search) {
+        return page == 0 && size == pageSize
+                && (status == null || status.isBlank())
+                && (search == null || search.isBlank());
+    }
+
+    public Slice<CardDto> firstPage(UUID ownerId, Supplier<Slice<CardDto>> loader) {
+        Slice<CardDto> cached = firstPages.getIfPresent(ownerId);
+        if (cached != null) return cached;
+
+        long stamp = invalidations.get(stripe(ownerId));
+        Slice<CardDto> loaded = loader.get();
+        if (invalidations.get(stripe(ownerId)) == stamp) {
+            firstPages.put(ownerId, loaded);
+            if (invalidations.get(stripe(ownerId)) != stamp) firstPages.invalidate(ownerId);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardChanged(CardChangedEvent event) {
+        invalidate(event.ownerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBalanceChanged(CardBalanceChangedEvent event) {
+        invalidate(event.ownerId());
+    }
+
+    @EventListener
+    public void onRemoteInvalidation(RemoteInvalidationEvent event) {
+        if (event.all()) {
+            for (int i = 0; i < STRIPES; i++) invalidations.incrementAndGet(i);
+            firstPages.invalidateAll();
+        } else {
+            event.ownerIds().forEach(this::invalidate);
+        }
+    }
+
+    private void invalidate(UUID ownerId) {
+        invalidations.incrementAndGet(stripe(ownerId));
+        firstPages.invalidate(ownerId);
+    }
+
+    private static int stripe(UUID ownerId) {
+        return ownerId.hashCode() & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.EncryptionProperties;
+import com.example.bankcards.config.properties.KeyRotationProperties;
+import com.example.bankcards.repository.CardKeyRotationRepository;
+import com.example.bankcards.repository.CardKeyRotationRepository.CardCiphertext;
+import com.example.bankcards.repository.CardKeyRotationRepository.Progress;
+import com.example.bankcards.security.AesGcmAttributeConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CardReencryptionService {
+    private final CardKeyRotationRepository rotationRepository;
+    private final AesGcmAttributeConverter cipher;
+    private final EncryptionProperties encryptionProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private enum BatchState { MORE, FINISHED, LOCKED_ELSEWHERE }
+
+    private record BatchResult(int reencrypted, BatchState state) {
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void reencryptOnStartup() {
+        KeyRotationProperties props = encryptionProperties.rotation();
+        if (props == null || !props.enabled()) return;
+        if (cipher.getActiveKeyId() == null) {
+            log.warn("Key rotation is enabled but encryption.aes-gcm.active-key-id is not set");
+            return;
+        }
+        long reencrypted = reencryptAll();
+        log.info("Card numbers re-encrypted with key {}: {}", cipher.getActiveKeyId(), reencrypted);
+    }
+
+    public long reencryptAll() {
+        KeyRotationProperties props = encryptionProperties.rotation();
+        int batchSize = Math.max(1, props.batchSize());
+        String target = cipher.getActiveKeyId();
+        rotationRepository.startProgress(target);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, props.parallelism()), r -> {
+            Thread t = new Thread(r, "card-reencrypt");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        try {
+            long total = 0;
+            while (true) {
+                BatchResult result = transactionTemplate.execute(status -> processBatch(target, batchSize, pool));
+                if (result == null) return total;
+                total += result.reencrypted();
+                if (result.state() == BatchState.LOCKED_ELSEWHERE) {
+                    log.info("Re-encryption to key {} is running on another node, stopping here", target);
+                    return total;
+                }
+                if (result.state() == BatchState.FINISHED) return total;
+                if (!pause(props.pauseMs())) return total;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private BatchResult processBatch(String target, int batchSize, ExecutorService pool) {
+        Optional<Progress> progress = rotationRepository.lockProgress(target);
+        if (progress.isEmpty()) return new BatchResult(0, BatchState.LOCKED_ELSEWHERE);
+        if (progress.get().finished()) return finishOrRestart(target, progress.get(), 0);
+
+        List<CardCiphertext> batch = rotationRepository.findBatch(progress.get().lastCardId(), batchSize);
+        if (batch.isEmpty()) return finishOrRestart(target, progress.get(), 0);
+
+        List<CardCiphertext> stale = batch.stream()
+                .filter(c -> !cipher.isEncryptedWithActiveKey(c.numberEncrypted()))
+                .toList();
+        List<String> replacements = stale.stream()
+                .map(c -> CompletableFuture.supplyAsync(() -> cipher.reencrypt(c.numberEncrypted()), pool))
+                .toList().stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        int updated = 0;
+        for (int n : rotationRepository.replaceCiphertexts(stale, replacements)) {
+            updated += Math.max(n, 0);
+        }
+        rotationRepository.saveProgress(target, batch.get(batch.size() - 1).id(), updated);
+        if (batch.size() < batchSize) return finishOrRestart(target, progress.get(), updated);
+        return new BatchResult(updated, BatchState.MORE);
+    }
+
+    private BatchResult finishOrRestart(String target, Progress progress, int reencrypted) {
+        long stale = rotationRepository.countNotEncryptedWith(target);
+        if (stale == 0) {
+            if (!progress.finished()) rotationRepository.markFinished(target);
+            return new BatchResult(reencrypted, BatchState.FINISHED);
+        }
+        log.info("{} cards are still not encrypted with key {}, starting another pass", stale, target);
+        rotationRepository.restartProgress(target);
+        return new BatchResult(reencrypted, BatchState.MORE);
+    }
+
+    private boolean pause(long millis) {
+        if (millis <= 0) return true;
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
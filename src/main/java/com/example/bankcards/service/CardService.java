@@ -1,65 +1,170 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.card.CardCursor;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardRow;
+import com.example.bankcards.dto.card.CardScrollResponse;
+import com.example.bankcards.dto.card.CardUpdateDto;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.CardUpdatesEvent;
 import com.example.bankcards.exception.ForbiddenException;
 import com.example.bankcards.exception.ResourceNotFoundException;
 import com.example.bankcards.exception.UnauthorizedException;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.CardSpecs;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CardService {
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("id"));
+
     private final CardRepository cardRepository;
+    private final CardCountService cardCountService;
+    private final CardListCache cardListCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CardSummaryService cardSummaryService;
+    private final DashboardCounterService dashboardCounterService;
+    private final OutboxService outboxService;
 
-    public Page<CardDto> listOwn(
+    @Transactional(readOnly = true)
+    public Slice<CardDto> listOwn(
             User user,
             int page,
             int size,
             String status,
-            String search
+            String search,
+            boolean withTotal
     ) throws UnauthorizedException {
         if (user == null) {
             throw new UnauthorizedException("User is not authenticated");
         }
-        UUID userId = user.getId();
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Specification<Card> spec = ownCards(user.getId(), status, search);
+        boolean hasSearch = search != null && !search.isBlank();
 
-        Specification<Card> spec = CardSpecs.ownedBy(userId);
-        if (status != null && !status.isBlank()) {
-            spec = spec.and(CardSpecs.byStatus(status));
+        if (withTotal && hasSearch) {
+            return cardRepository.findRowPage(spec, pageable).map(CardDto::from);
+        }
+        Slice<CardDto> slice = cardListCache.isCacheable(page, size, status, search)
+                ? cardListCache.firstPage(user.getId(), () -> cardRepository.findRowSlice(spec, pageable).map(CardDto::from))
+                : cardRepository.findRowSlice(spec, pageable).map(CardDto::from);
+        if (!withTotal) {
+            return slice;
+        }
+        Map<CardStatus, Long> counts = cardCountService.countByStatus(user.getId());
+        long total = status == null || status.isBlank()
+                ? counts.values().stream().mapToLong(Long::longValue).sum()
+                : counts.getOrDefault(CardStatus.valueOf(status), 0L);
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    @Transactional(readOnly = true)
+    public CardScrollResponse scrollOwn(
+            User user,
+            int size,
+            String status,
+            String search,
+            String after
+    ) throws UnauthorizedException {
+        if (user == null) {
+            throw new UnauthorizedException("User is not authenticated");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        Specification<Card> spec = ownCards(user.getId(), status, search);
+        if (after != null && !after.isBlank()) {
+            CardCursor cursor = CardCursor.decode(after);
+            spec = spec.and(CardSpecs.after(cursor.createdAt(), cursor.id()));
         }
 
-        Page<Card> base = cardRepository.findAll(spec, pageable);
-        if (search == null || search.isBlank()) {
-            return base.map(CardDto::from);
+        Slice<CardRow> rows = cardRepository.findRowSlice(spec, PageRequest.of(0, size, KEYSET_SORT));
+        String next = rows.hasNext()
+                ? CardCursor.of(rows.getContent().get(rows.getNumberOfElements() - 1)).encode()
+                : null;
+        return new CardScrollResponse(rows.map(CardDto::from).getContent(), next, next != null);
+    }
+
+    @Transactional(readOnly = true)
+    public String listEtag(
+            User user,
+            int page,
+            int size,
+            String status,
+            String search,
+            boolean withTotal
+    ) throws UnauthorizedException {
+        if (user == null) {
+            throw new UnauthorizedException("User is not authenticated");
         }
-        String lower = search.toLowerCase();
-        List<CardDto> filtered = base.getContent().stream()
-                .filter(c -> {
-                    boolean byUsername = c.getOwner().getUsername() != null &&
-                            c.getOwner().getUsername().toLowerCase().contains(lower);
-                    boolean byMasked = c.getMaskedNumber() != null &&
-                            c.getMaskedNumber().toLowerCase().contains(lower);
-                    return byUsername || byMasked;
-                })
+        CardRepository.VersionStamp stamp = cardRepository.versionStampByOwner(user.getId());
+        return weakEtag(user.getId(), stamp.getCount(), stamp.getVersionSum(), stamp.getLastUpdated(),
+                page, size, status, search, withTotal);
+    }
+
+    @Transactional(readOnly = true)
+    public String cardEtag(
+            User user,
+            UUID id
+    ) throws UnauthorizedException, ForbiddenException, ResourceNotFoundException {
+        if (user == null) {
+            throw new UnauthorizedException("User is not authenticated");
+        }
+        CardRepository.CardVersion version = cardRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Card not found"));
+        if (!version.getOwnerId().equals(user.getId())) {
+            throw new ForbiddenException("Cannot view card that is not yours");
+        }
+        return weakEtag(id, version.getVersion(), version.getUpdatedAt());
+    }
+
+    @Transactional(readOnly = true)
+    public CardDto getOwn(
+            User user,
+            UUID id
+    ) throws UnauthorizedException, ResourceNotFoundException {
+        if (user == null) {
+            throw new UnauthorizedException("User is not authenticated");
+        }
+        return cardRepository.findRowByIdAndOwnerId(id, user.getId())
                 .map(CardDto::from)
-                .collect(Collectors.toList());
+                .orElseThrow(() -> new ResourceNotFoundException("Card not found"));
+    }
+
+    private static String weakEtag(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (Object part : parts) {
+            sb.append(part).append('|');
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 
-        return new PageImpl<>(filtered, pageable, base.getTotalElements());
+    private Specification<Card> ownCards(UUID userId, String status, String search) {
+        Specification<Card> spec = CardSpecs.ownedBy(userId);
+        if (status != null && !status.isBlank()) {
+            spec = spec.and(CardSpecs.byStatus(status));
+        }
+        if (search != null && !search.isBlank()) {
+            spec = spec.and(CardSpecs.matchesSearch(search));
+        }
+        return spec;
     }
 
+    @Transactional
     public void requestBlock(
             User user,
             UUID id
@@ -72,7 +177,13 @@ public class CardService {
         if (!card.getOwner().getId().equals(user.getId())) {
             throw new ForbiddenException("Cannot block card that is not yours");
         }
+        CardStatus previous = card.getStatus();
         card.setStatus(CardStatus.BLOCKED);
         cardRepository.save(card);
+        cardSummaryService.statusChanged(user.getId(), previous, CardStatus.BLOCKED);
+        dashboardCounterService.statusChanged(previous, CardStatus.BLOCKED);
+        outboxService.cardStatusChanged(card.getId(), user.getId(), previous, CardStatus.BLOCKED);
+        eventPublisher.publishEvent(new CardChangedEvent(user.getId()));
+        eventPublisher.publishEvent(CardUpdatesEvent.of(user.getId(), CardUpdateDto.status(card.getId(), CardStatus.BLOCKED)));
     }
 }
@@ -0,0 +1,95 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.CardSummaryDto;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.exception.UnauthorizedException;
+import com.example.bankcards.repository.UserCardSummaryRepository;
+import com.example.bankcards.repository.UserCardSummaryRepositoryCustom.SummaryDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class CardSummaryService {
+    private final UserCardSummaryRepository summaryRepository;
+
+    public CardSummaryDto getOwn(User user) throws UnauthorizedException {
+        if (user == null) {
+            throw new UnauthorizedException("User is not authenticated");
+        }
+        return summaryRepository.findById(user.getId())
+                .map(CardSummaryDto::from)
+                .orElse(CardSummaryDto.EMPTY);
+    }
+
+    public void cardAdded(Card card) {
+        apply(card.getOwner().getId(), card.getBalance(), card.getStatus(), 1);
+    }
+
+    public void cardRemoved(Card card) {
+        apply(card.getOwner().getId(), card.getBalance().negate(), card.getStatus(), -1);
+    }
+
+    public record IssuedCards(UUID ownerId, int count, BigDecimal balance) {
+    }
+
+    public void cardsIssued(List<IssuedCards> issued) {
+        summaryRepository.applyDeltas(issued.stream()
+                .map(i -> new SummaryDelta(i.ownerId(), i.balance(), i.count(), 0, 0))
+                .toList());
+    }
+
+    public void statusChanged(UUID ownerId, CardStatus from, CardStatus to) {
+        if (from == to) return;
+        summaryRepository.applyDeltas(List.of(new SummaryDelta(ownerId, BigDecimal.ZERO,
+                shift(CardStatus.ACTIVE, from, to),
+                shift(CardStatus.BLOCKED, from, to),
+                shift(CardStatus.EXPIRED, from, to))));
+    }
+
+    public void statusesChanged(Map<UUID, Map<CardStatus, Integer>> previousByOwner, CardStatus to) {
+        List<SummaryDelta> deltas = new ArrayList<>(previousByOwner.size());
+        previousByOwner.forEach((ownerId, previous) -> {
+            int total = previous.values().stream().mapToInt(Integer::intValue).sum();
+            deltas.add(new SummaryDelta(ownerId, BigDecimal.ZERO,
+                    moved(CardStatus.ACTIVE, previous, to, total),
+                    moved(CardStatus.BLOCKED, previous, to, total),
+                    moved(CardStatus.EXPIRED, previous, to, total)));
+        });
+        summaryRepository.applyDeltas(deltas);
+    }
+
+    public void transferred(UUID fromOwnerId, UUID toOwnerId, BigDecimal amount) {
+        if (fromOwnerId.equals(toOwnerId)) return;
+        summaryRepository.applyDeltas(List.of(
+                new SummaryDelta(fromOwnerId, amount.negate(), 0, 0, 0),
+                new SummaryDelta(toOwnerId, amount, 0, 0, 0)));
+    }
+
+    private void apply(UUID ownerId, BigDecimal balance, CardStatus status, int delta) {
+        summaryRepository.applyDeltas(List.of(new SummaryDelta(ownerId, balance,
+                count(CardStatus.ACTIVE, status, delta),
+                count(CardStatus.BLOCKED, status, delta),
+                count(CardStatus.EXPIRED, status, delta))));
+    }
+
+    private static int shift(CardStatus target, CardStatus from, CardStatus to) {
+        return count(target, to, 1) + count(target, from, -1);
+    }
+
+    private static int moved(CardStatus target, Map<CardStatus, Integer> previous, CardStatus to, int total) {
+        return (target == to ? total : 0) - previous.getOrDefault(target, 0);
+    }
+
+    private static int count(CardStatus target, CardStatus status, int delta) {
+        return target == status ? delta : 0;
+    }
+}
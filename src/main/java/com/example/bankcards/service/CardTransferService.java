@@ -1,16 +1,23 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.card.CardUpdateDto;
 import com.example.bankcards.dto.card.TransferRequest;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.Transfer;
 import com.example.bankcards.entity.TransferStatus;
+import com.example.bankcards.event.CardBalanceChangedEvent;
+import com.example.bankcards.event.CardUpdatesEvent;
+import com.example.bankcards.jfr.TransferEvent;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.TransferRepository;
-import jakarta.transaction.Transactional;
+import com.example.bankcards.service.TransferMetrics.Outcome;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.file.AccessDeniedException;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Service
@@ -18,34 +25,63 @@ import java.util.UUID;
 public class CardTransferService {
     private final CardRepository cardRepository;
     private final TransferRepository transferRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CardSummaryService cardSummaryService;
+    private final DashboardCounterService dashboardCounterService;
+    private final OutboxService outboxService;
+    private final TransferMetrics transferMetrics;
 
     @Transactional
     public void transfer(UUID userId, TransferRequest req) throws AccessDeniedException {
-        Card from = cardRepository.findById(req.getFromCardId())
-                .orElseThrow(() -> new IllegalArgumentException("from card not found"));
-        Card to = cardRepository.findById(req.getToCardId())
-                .orElseThrow(() -> new IllegalArgumentException("to card not found"));
+        long started = System.nanoTime();
+        TransferEvent event = new TransferEvent();
+        event.begin();
+        Outcome outcome = Outcome.NOT_FOUND;
+        try {
+            Card from = cardRepository.findById(req.getFromCardId())
+                    .orElseThrow(() -> new IllegalArgumentException("from card not found"));
+            Card to = cardRepository.findById(req.getToCardId())
+                    .orElseThrow(() -> new IllegalArgumentException("to card not found"));
 
-        if (!from.getOwner().getId().equals(userId) || !to.getOwner().getId().equals(userId)) {
-            throw new AccessDeniedException("Only own cards");
+            outcome = Outcome.FORBIDDEN;
+            if (!from.getOwner().getId().equals(userId) || !to.getOwner().getId().equals(userId)) {
+                throw new AccessDeniedException("Only own cards");
+            }
+            outcome = Outcome.INACTIVE;
+            if (!from.isActive() || !to.isActive()) throw new IllegalStateException("Card not active");
+            outcome = Outcome.EXPIRED;
+            LocalDate today = LocalDate.now();
+            if (from.isExpired(today) || to.isExpired(today)) throw new IllegalStateException("Card expired");
+            outcome = Outcome.INSUFFICIENT_FUNDS;
+            if (from.getBalance().compareTo(req.getAmount()) < 0) throw new IllegalStateException("Insufficient funds");
+            outcome = Outcome.SAME_CARD;
+            if (req.getFromCardId().equals(req.getToCardId()))
+                throw new IllegalArgumentException("Cannot transfer to same card");
+            outcome = Outcome.FAILED;
+
+            from.setBalance(from.getBalance().subtract(req.getAmount()));
+            to.setBalance(to.getBalance().add(req.getAmount()));
+
+            cardRepository.save(from);
+            cardRepository.save(to);
+
+            Transfer transfer = Transfer.builder()
+                    .fromCard(from)
+                    .toCard(to)
+                    .user(from.getOwner())
+                    .amount(req.getAmount())
+                    .status(TransferStatus.COMPLETED)
+                    .build();
+            transferRepository.save(transfer);
+            cardSummaryService.transferred(from.getOwner().getId(), to.getOwner().getId(), req.getAmount());
+            dashboardCounterService.transferred(req.getAmount());
+            outboxService.transferCompleted(transfer);
+            eventPublisher.publishEvent(new CardBalanceChangedEvent(userId));
+            eventPublisher.publishEvent(CardUpdatesEvent.of(userId, CardUpdateDto.balance(from), CardUpdateDto.balance(to)));
+            outcome = Outcome.COMPLETED;
+        } finally {
+            transferMetrics.record(outcome, started);
+            event.finish(userId, req.getFromCardId(), req.getToCardId(), outcome);
         }
-        if (!from.isActive() || !to.isActive()) throw new IllegalStateException("Card not active");
-        if (from.getBalance().compareTo(req.getAmount()) < 0) throw new IllegalStateException("Insufficient funds");
-        if (req.getFromCardId().equals(req.getToCardId()))
-            throw new IllegalArgumentException("Cannot transfer to same card");
-
-        from.setBalance(from.getBalance().subtract(req.getAmount()));
-        to.setBalance(to.getBalance().add(req.getAmount()));
-
-        cardRepository.save(from);
-        cardRepository.save(to);
-
-        transferRepository.save(Transfer.builder()
-                .fromCard(from)
-                .toCard(to)
-                .user(from.getOwner())
-                .amount(req.getAmount())
-                .status(TransferStatus.COMPLETED)
-                .build());
     }
 }
@@ -0,0 +1,164 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.DashboardDto;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.repository.DashboardCounterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounterService {
+    private static final int MONEY_SCALE = 4;
+    private static final Counter[] COUNTERS = Counter.values();
+
+    private final DashboardCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LongAdder[] pending = newAdders();
+
+    public enum Counter {
+        ACTIVE_CARDS(0), BLOCKED_CARDS(0), EXPIRED_CARDS(0), TOTAL_BALANCE(MONEY_SCALE),
+        TRANSFER_COUNT(0), TRANSFER_VOLUME(MONEY_SCALE);
+
+        private final int scale;
+
+        Counter(int scale) {
+            this.scale = scale;
+        }
+    }
+
+    public DashboardDto get() {
+        Map<String, BigDecimal> stored = counterRepository.findAll();
+        BigDecimal[] values = new BigDecimal[COUNTERS.length];
+        for (Counter counter : COUNTERS) {
+            BigDecimal unflushed = BigDecimal.valueOf(pending[counter.ordinal()].sum(), counter.scale);
+            values[counter.ordinal()] = stored.getOrDefault(counter.name(), BigDecimal.ZERO).add(unflushed);
+        }
+        return new DashboardDto(
+                values[Counter.ACTIVE_CARDS.ordinal()].longValue(),
+                values[Counter.BLOCKED_CARDS.ordinal()].longValue(),
+                values[Counter.EXPIRED_CARDS.ordinal()].longValue(),
+                values[Counter.TOTAL_BALANCE.ordinal()],
+                values[Counter.TRANSFER_COUNT.ordinal()].longValue(),
+                values[Counter.TRANSFER_VOLUME.ordinal()]);
+    }
+
+    public void cardAdded(Card card) {
+        cardsIssued(card.getStatus(), 1, card.getBalance());
+    }
+
+    public void cardRemoved(Card card) {
+        cardsIssued(card.getStatus(), -1, card.getBalance().negate());
+    }
+
+    public void cardsIssued(CardStatus status, int count, BigDecimal balance) {
+        long[] delta = new long[COUNTERS.length];
+        delta[counterOf(status).ordinal()] = count;
+        delta[Counter.TOTAL_BALANCE.ordinal()] = money(balance);
+        record(delta);
+    }
+
+    public void statusChanged(CardStatus from, CardStatus to) {
+        if (from == to) return;
+        statusesChanged(Map.of(from, 1), to);
+    }
+
+    public void statusesChanged(Map<CardStatus, Integer> previous, CardStatus to) {
+        long[] delta = new long[COUNTERS.length];
+        previous.forEach((from, count) -> {
+            delta[counterOf(from).ordinal()] -= count;
+            delta[counterOf(to).ordinal()] += count;
+        });
+        record(delta);
+    }
+
+    public void transferred(BigDecimal amount) {
+        long[] delta = new long[COUNTERS.length];
+        delta[Counter.TRANSFER_COUNT.ordinal()] = 1;
+        delta[Counter.TRANSFER_VOLUME.ordinal()] = money(amount);
+        record(delta);
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.flush-ms}", initialDelayString = "${app.dashboard.flush-ms}")
+    @PreDestroy
+    public synchronized void flush() {
+        long[] taken = new long[COUNTERS.length];
+        Map<String, BigDecimal> deltas = new LinkedHashMap<>();
+        for (Counter counter : COUNTERS) {
+            taken[counter.ordinal()] = pending[counter.ordinal()].sumThenReset();
+            if (taken[counter.ordinal()] != 0) {
+                deltas.put(counter.name(), BigDecimal.valueOf(taken[counter.ordinal()], counter.scale));
+            }
+        }
+        if (deltas.isEmpty()) return;
+        try {
+            transactionTemplate.executeWithoutResult(tx -> counterRepository.addAll(deltas));
+        } catch (RuntimeException e) {
+            apply(taken);
+            log.warn("Dashboard counters flush failed, deltas kept for the next attempt", e);
+        }
+    }
+
+    private void record(long[] delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(delta);
+            return;
+        }
+        long[] txDelta = (long[]) TransactionSynchronizationManager.getResource(this);
+        if (txDelta == null) {
+            long[] bound = new long[COUNTERS.length];
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DashboardCounterService.this);
+                }
+            });
+            txDelta = bound;
+        }
+        for (int i = 0; i < delta.length; i++) txDelta[i] += delta[i];
+    }
+
+    private void apply(long[] delta) {
+        for (int i = 0; i < delta.length; i++) {
+            if (delta[i] != 0) pending[i].add(delta[i]);
+        }
+    }
+
+    private static Counter counterOf(CardStatus status) {
+        return switch (status) {
+            case ACTIVE -> Counter.ACTIVE_CARDS;
+            case BLOCKED -> Counter.BLOCKED_CARDS;
+            case EXPIRED -> Counter.EXPIRED_CARDS;
+        };
+    }
+
+    private static long money(BigDecimal amount) {
+        return amount.setScale(MONEY_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[COUNTERS.length];
+        for (int i = 0; i < adders.length; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.FlightRecorderProperties;
+import com.example.bankcards.dto.FlightRecordingDto;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FlightRecorderService {
+    private static final String RECORDING_NAME = "bankcards";
+    private static final long MB = 1024 * 1024;
+    public static final List<String> DISABLED_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final FlightRecorderProperties properties;
+    private Recording recording;
+    private String settings;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnBoot() {
+        if (!properties.enabled()) return;
+        try {
+            start(null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to start flight recording: {}", e.getMessage());
+        }
+    }
+
+    public synchronized FlightRecordingDto start(String settingsName) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("Flight recording already running");
+        }
+        String name = settingsName == null || settingsName.isBlank() ? properties.settings() : settingsName;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + name);
+        }
+        close();
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        if (properties.maxAgeMs() > 0) started.setMaxAge(Duration.ofMillis(properties.maxAgeMs()));
+        if (properties.maxSizeMb() > 0) started.setMaxSize(properties.maxSizeMb() * MB);
+        DISABLED_EVENTS.forEach(started::disable);
+        started.start();
+        recording = started;
+        settings = name;
+        log.info("Flight recording started with settings {}", name);
+        return status();
+    }
+
+    public synchronized FlightRecordingDto stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No running flight recording");
+        }
+        recording.stop();
+        log.info("Flight recording stopped, {} bytes", recording.getSize());
+        return status();
+    }
+
+    public synchronized Path dump() throws IOException {
+        if (recording == null) throw new IllegalStateException("No flight recording");
+        Path file = Files.createTempFile("bankcards-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    public synchronized FlightRecordingDto status() {
+        if (recording == null) return FlightRecordingDto.none();
+        return new FlightRecordingDto(recording.getState().name(), settings,
+                recording.getStartTime(), recording.getStopTime(), recording.getSize());
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording == null) return;
+        recording.close();
+        recording = null;
+        settings = null;
+    }
+}
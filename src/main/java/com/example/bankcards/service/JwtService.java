@@ -2,6 +2,7 @@ package com.example.bankcards.service;
 
 import com.example.bankcards.config.properties.JwtProperties;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.jfr.TokenParseEvent;
 import com.example.bankcards.util.PemUtils;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.RSADecrypter;
@@ -11,13 +12,17 @@ import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.proc.BadJWTException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
@@ -28,8 +33,29 @@ public class JwtService {
     private final RSAPublicKey encPub;
     private final long ACCESS_EXP;
     private final long REFRESH_EXP;
+    private final TokenTimers accessTimers;
+    private final TokenTimers refreshTimers;
+
+    private record TokenTimers(String type, Timer generated, Timer parsed, Timer rejected) {
+        static TokenTimers register(MeterRegistry registry, String type) {
+            return new TokenTimers(type,
+                    timer(registry, "bankcards.jwt.generate", type, null),
+                    timer(registry, "bankcards.jwt.parse", type, "valid"),
+                    timer(registry, "bankcards.jwt.parse", type, "rejected"));
+        }
+
+        private static Timer timer(MeterRegistry registry, String name, String type, String outcome) {
+            Timer.Builder builder = Timer.builder(name)
+                    .tag("type", type)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100_000))
+                    .maximumExpectedValue(Duration.ofSeconds(1));
+            if (outcome != null) builder.tag("outcome", outcome);
+            return builder.register(registry);
+        }
+    }
 
-    public JwtService(JwtProperties prop) {
+    public JwtService(JwtProperties prop, MeterRegistry meterRegistry) {
         if (prop == null) throw new IllegalStateException("JwtConfig not provided");
         this.signPriv = PemUtils.readPrivateKey(prop.sign().privateKey(), "RSA");
         this.signPub = PemUtils.readPublicKey(prop.sign().publicKey(), "RSA");
@@ -37,24 +63,27 @@ public class JwtService {
         this.encPub = PemUtils.readPublicKey(prop.enc().publicKey(), "RSA");
         this.ACCESS_EXP = prop.accessExp();
         this.REFRESH_EXP = prop.refreshExp();
+        this.accessTimers = TokenTimers.register(meterRegistry, "access");
+        this.refreshTimers = TokenTimers.register(meterRegistry, "refresh");
     }
 
     public String generateAccessToken(User user) throws JOSEException {
-        return generateToken(user, ACCESS_EXP, "access");
+        return generateToken(user, ACCESS_EXP, accessTimers);
     }
 
     public String generateRefreshToken(User user) throws JOSEException {
-        return generateToken(user, REFRESH_EXP, "refresh");
+        return generateToken(user, REFRESH_EXP, refreshTimers);
     }
 
-    private String generateToken(User user, long expMillis, String type) throws JOSEException {
+    private String generateToken(User user, long expMillis, TokenTimers timers) throws JOSEException {
+        long started = System.nanoTime();
         Date now = new Date();
         Date exp = new Date(now.getTime() + expMillis);
 
         JWTClaimsSet claims = new JWTClaimsSet.Builder()
                 .subject(user.getId().toString())
                 .claim("role", user.getRole().name())
-                .claim("typ", type)
+                .claim("typ", timers.type())
                 .issueTime(now)
                 .expirationTime(exp)
                 .jwtID(UUID.randomUUID().toString())
@@ -73,18 +102,36 @@ public class JwtService {
         JWEObject jwe = new JWEObject(jweHeader, new Payload(signedJWT));
         jwe.encrypt(new RSAEncrypter(encPub));
 
-        return jwe.serialize();
+        String token = jwe.serialize();
+        timers.generated().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     public JWTClaimsSet parseAccessToken(String token) throws Exception {
-        return parseToken(token, "access");
+        return parseToken(token, accessTimers);
     }
 
     public JWTClaimsSet parseRefreshToken(String token) throws Exception {
-        return parseToken(token, "refresh");
+        return parseToken(token, refreshTimers);
+    }
+
+    private JWTClaimsSet parseToken(String token, TokenTimers timers) throws Exception {
+        long started = System.nanoTime();
+        TokenParseEvent event = new TokenParseEvent();
+        event.begin();
+        try {
+            JWTClaimsSet claims = verifyToken(token, timers.type());
+            timers.parsed().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            event.finish(timers.type(), true, claims.getSubject());
+            return claims;
+        } catch (Exception e) {
+            timers.rejected().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            event.finish(timers.type(), false, null);
+            throw e;
+        }
     }
 
-    private JWTClaimsSet parseToken(String token, String expectedType) throws Exception {
+    private JWTClaimsSet verifyToken(String token, String expectedType) throws Exception {
         SignedJWT signed;
 
         long dots = token.chars().filter(ch -> ch == '.').count();
@@ -0,0 +1,84 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.OutboxProperties;
+import com.example.bankcards.event.OutboxHandler;
+import com.example.bankcards.event.OutboxMessage;
+import com.example.bankcards.repository.OutboxRepository;
+import com.example.bankcards.repository.OutboxRepository.Failure;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPoller {
+    private final OutboxRepository outboxRepository;
+    private final List<OutboxHandler> handlers;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private record BatchResult(int dispatched, int failed) {
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-ms}")
+    public void pollOnSchedule() {
+        if (!properties.enabled()) return;
+        long dispatched = drain();
+        if (dispatched > 0) log.debug("Outbox messages dispatched: {}", dispatched);
+    }
+
+    public long drain() {
+        int batchSize = Math.max(1, properties.batchSize());
+        long total = 0;
+        while (true) {
+            BatchResult result = transactionTemplate.execute(tx -> dispatchBatch(batchSize));
+            if (result == null) return total;
+            total += result.dispatched();
+            if (result.failed() > 0 || result.dispatched() < batchSize) return total;
+        }
+    }
+
+    private BatchResult dispatchBatch(int batchSize) {
+        List<OutboxMessage> batch = outboxRepository.claim(batchSize);
+        List<Long> done = new ArrayList<>(batch.size());
+        List<Failure> failed = new ArrayList<>();
+        List<Failure> dead = new ArrayList<>();
+        for (OutboxMessage message : batch) {
+            String error;
+            try {
+                boolean handled = false;
+                for (OutboxHandler handler : handlers) {
+                    if (!handler.supports(message.type())) continue;
+                    handler.handle(message);
+                    handled = true;
+                }
+                if (handled) {
+                    done.add(message.id());
+                    continue;
+                }
+                error = "No handler for " + message.type();
+            } catch (Exception e) {
+                error = e.toString();
+            }
+            int attempt = message.attempts() + 1;
+            if (attempt >= properties.maxAttempts()) {
+                log.error("Outbox message {} ({}) moved to dead letters after {} attempts: {}",
+                        message.id(), message.type(), attempt, error);
+                dead.add(new Failure(message.id(), error));
+            } else {
+                log.warn("Outbox message {} ({}) failed, attempt {}: {}", message.id(), message.type(), attempt, error);
+                failed.add(new Failure(message.id(), error));
+            }
+        }
+        outboxRepository.delete(done);
+        outboxRepository.reschedule(failed, properties.retryDelayMs());
+        outboxRepository.markDead(dead);
+        return new BatchResult(done.size(), failed.size() + dead.size());
+    }
+}
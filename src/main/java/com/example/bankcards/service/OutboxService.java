@@ -0,0 +1,64 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.OutboxProperties;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.event.CardStatusChangedPayload;
+import com.example.bankcards.event.OutboxEventType;
+import com.example.bankcards.event.TransferCompletedPayload;
+import com.example.bankcards.repository.CardBulkStatusRepository.ChangedCard;
+import com.example.bankcards.repository.OutboxRepository;
+import com.example.bankcards.repository.OutboxRepository.Entry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transferCompleted(Transfer transfer) {
+        if (!properties.enabled()) return;
+        TransferCompletedPayload payload = new TransferCompletedPayload(transfer.getId(),
+                transfer.getUser().getId(), transfer.getFromCard().getId(), transfer.getToCard().getId(),
+                transfer.getAmount(), Instant.now());
+        outboxRepository.append(List.of(entry(OutboxEventType.TRANSFER_COMPLETED, transfer.getId(), payload)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cardStatusChanged(UUID cardId, UUID ownerId, CardStatus previous, CardStatus status) {
+        if (!properties.enabled() || previous == status) return;
+        outboxRepository.append(List.of(entry(OutboxEventType.CARD_STATUS_CHANGED, cardId,
+                new CardStatusChangedPayload(cardId, ownerId, previous, status, Instant.now()))));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cardStatusesChanged(List<ChangedCard> cards, CardStatus status) {
+        if (!properties.enabled()) return;
+        Instant now = Instant.now();
+        outboxRepository.append(cards.stream()
+                .filter(c -> c.previous() != status)
+                .map(c -> entry(OutboxEventType.CARD_STATUS_CHANGED, c.id(),
+                        new CardStatusChangedPayload(c.id(), c.ownerId(), c.previous(), status, now)))
+                .toList());
+    }
+
+    private Entry entry(OutboxEventType type, UUID aggregateId, Object payload) {
+        try {
+            return new Entry(type, aggregateId, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.bankcards.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TransferMetrics {
+    public static final String TIMER = "bankcards.transfer";
+
+    private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+
+    public enum Outcome {
+        COMPLETED, NOT_FOUND, FORBIDDEN, INACTIVE, EXPIRED, INSUFFICIENT_FUNDS, SAME_CARD, FAILED
+    }
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder(TIMER)
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+        }
+    }
+
+    public void record(Outcome outcome, long startedNanos) {
+        if (outcome == Outcome.COMPLETED && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    stop(status == STATUS_COMMITTED ? Outcome.COMPLETED : Outcome.FAILED, startedNanos);
+                }
+            });
+            return;
+        }
+        stop(outcome, startedNanos);
+    }
+
+    private void stop(Outcome outcome, long startedNanos) {
+        timers.get(outcome).record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.bankcards.util;
 
 import com.example.bankcards.entity.User;
+import com.example.bankcards.jfr.HttpRequestEvent;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.service.JwtService;
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -34,6 +35,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     HttpServletResponse res,
                                     FilterChain chain)
             throws ServletException, IOException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        UUID authenticatedId = null;
 
         String hdr = req.getHeader("Authorization");
         if (hdr != null && hdr.startsWith("Bearer ")) {
@@ -43,7 +47,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 String subject = claims.getSubject();
                 UUID userId = UUID.fromString(subject);
 
-                Optional<User> userOpt = userRepository.findById(userId);
+                Optional<User> userOpt = userRepository.findForAuthentication(userId);
                 if (userOpt.isPresent()) {
                     User user = userOpt.get();
                     String roleName = user.getRole().name();
@@ -54,6 +58,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     );
                     auth.setDetails(req);
                     SecurityContextHolder.getContext().setAuthentication(auth);
+                    authenticatedId = userId;
                     log.debug("Authenticated user {} with role {}", user.getUsername(), roleName);
                 } else {
                     log.warn("User from token not found: {}", subject);
@@ -63,6 +68,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
         }
 
-        chain.doFilter(req, res);
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            event.finish(req.getMethod(), req.getRequestURI(), res.getStatus(), authenticatedId);
+        }
     }
 }
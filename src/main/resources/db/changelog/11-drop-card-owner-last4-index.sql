@@ -0,0 +1 @@
+DROP INDEX CONCURRENTLY IF EXISTS idx_cards_owner_last4;
@@ -0,0 +1,9 @@
+DROP TRIGGER IF EXISTS trg_cards_updated_at ON cards;
+
+CREATE TRIGGER trg_cards_updated_at
+    BEFORE UPDATE
+    ON cards
+    FOR EACH ROW
+    WHEN (OLD.number_encrypted IS NOT DISTINCT FROM NEW.number_encrypted
+        OR (to_jsonb(OLD) - 'number_encrypted') IS DISTINCT FROM (to_jsonb(NEW) - 'number_encrypted'))
+EXECUTE FUNCTION set_updated_at();
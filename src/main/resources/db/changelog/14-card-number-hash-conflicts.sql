@@ -0,0 +1,6 @@
+CREATE TABLE card_number_hash_conflicts
+(
+    card_id     UUID PRIMARY KEY REFERENCES cards (id) ON DELETE CASCADE,
+    number_hash VARCHAR(64) NOT NULL,
+    detected_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,4 @@
+ALTER TABLE cards
+    ADD COLUMN number_hash VARCHAR(64);
+
+CREATE UNIQUE INDEX uq_cards_number_hash ON cards (number_hash);
@@ -0,0 +1,7 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE cards
+    ADD COLUMN last4 VARCHAR(4);
+
+CREATE INDEX idx_cards_owner_last4 ON cards (owner_id, last4);
+CREATE INDEX idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
@@ -0,0 +1,8 @@
+CREATE TABLE key_rotation_progress
+(
+    target_key_id VARCHAR(64) PRIMARY KEY,
+    last_card_id  UUID,
+    processed     BIGINT      NOT NULL DEFAULT 0,
+    started_at    TIMESTAMPTZ NOT NULL DEFAULT now(),
+    finished_at   TIMESTAMPTZ
+);
@@ -0,0 +1,3 @@
+CREATE INDEX idx_cards_owner_created_id ON cards (owner_id, created_at DESC, id);
+
+DROP INDEX IF EXISTS idx_cards_owner_id;
@@ -0,0 +1,18 @@
+CREATE TABLE user_card_summary
+(
+    user_id       UUID PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    total_balance NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    active_count  INTEGER        NOT NULL DEFAULT 0,
+    blocked_count INTEGER        NOT NULL DEFAULT 0,
+    expired_count INTEGER        NOT NULL DEFAULT 0,
+    updated_at    TIMESTAMPTZ    NOT NULL DEFAULT now()
+);
+
+INSERT INTO user_card_summary (user_id, total_balance, active_count, blocked_count, expired_count)
+SELECT owner_id,
+       sum(balance),
+       count(*) FILTER (WHERE status = 'ACTIVE'),
+       count(*) FILTER (WHERE status = 'BLOCKED'),
+       count(*) FILTER (WHERE status = 'EXPIRED')
+FROM cards
+GROUP BY owner_id;
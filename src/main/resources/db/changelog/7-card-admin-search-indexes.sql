@@ -0,0 +1,7 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cards_created_id ON cards (created_at DESC, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cards_status_created_id ON cards (status, created_at DESC, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cards_last4_created_id ON cards (last4, created_at DESC, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cards_expiry ON cards (expiry);
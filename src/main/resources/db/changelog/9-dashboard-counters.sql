@@ -0,0 +1,19 @@
+CREATE TABLE dashboard_counters
+(
+    name       VARCHAR(32) PRIMARY KEY,
+    value      NUMERIC(38, 4) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ    NOT NULL DEFAULT now()
+);
+
+INSERT INTO dashboard_counters (name, value)
+SELECT 'ACTIVE_CARDS', count(*) FROM cards WHERE status = 'ACTIVE'
+UNION ALL
+SELECT 'BLOCKED_CARDS', count(*) FROM cards WHERE status = 'BLOCKED'
+UNION ALL
+SELECT 'EXPIRED_CARDS', count(*) FROM cards WHERE status = 'EXPIRED'
+UNION ALL
+SELECT 'TOTAL_BALANCE', coalesce(sum(balance), 0) FROM cards
+UNION ALL
+SELECT 'TRANSFER_COUNT', count(*) FROM transfers WHERE status = 'COMPLETED'
+UNION ALL
+SELECT 'TRANSFER_VOLUME', coalesce(sum(amount), 0) FROM transfers WHERE status = 'COMPLETED';
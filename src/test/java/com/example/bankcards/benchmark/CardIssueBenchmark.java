@@ -0,0 +1,82 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.dto.card.BulkIssueResult;
+import com.example.bankcards.dto.card.CreateCardRequest;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.AdminCardService;
+import com.example.bankcards.service.CardBulkIssueService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class CardIssueBenchmark {
+    private static final int OWNERS = Integer.getInteger("benchmark.owners", 100);
+    private static final int SINGLE_CARDS = Integer.getInteger("benchmark.single-cards", 1_000);
+    private static final int BULK_CARDS = Integer.getInteger("benchmark.cards", 200_000);
+
+    @Autowired AdminCardService adminCardService;
+    @Autowired CardBulkIssueService bulkIssueService;
+    @Autowired UserRepository userRepository;
+
+    @Test
+    void single_versus_bulk_issue_throughput() throws Exception {
+        String run = String.format("%04d", ThreadLocalRandom.current().nextInt(10_000));
+        List<UUID> owners = createOwners(run);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < SINGLE_CARDS; i++) {
+            adminCardService.createCard(new CreateCardRequest(
+                    owners.get(i % owners.size()), number("1" + run, i), "2030-01", new BigDecimal("10.00"), "ACTIVE"));
+        }
+        report("createCard", SINGLE_CARDS, System.nanoTime() - started);
+
+        StringBuilder csv = new StringBuilder(BULK_CARDS * 48);
+        for (int i = 0; i < BULK_CARDS; i++) {
+            csv.append(owners.get(i % owners.size())).append(',')
+                    .append(number("2" + run, i)).append(",2030-01,10.00\n");
+        }
+        byte[] body = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        started = System.nanoTime();
+        BulkIssueResult result = bulkIssueService.issue(new ByteArrayInputStream(body));
+        report("bulk COPY", BULK_CARDS, System.nanoTime() - started);
+
+        assertEquals(BULK_CARDS, result.issued());
+    }
+
+    private List<UUID> createOwners(String run) {
+        List<UUID> owners = new ArrayList<>(OWNERS);
+        for (int i = 0; i < OWNERS; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setUsername("bench-" + run + "-" + i);
+            user.setPasswordHash("-");
+            user.setRole(Role.USER);
+            user.setEnabled(true);
+            owners.add(userRepository.save(user).getId());
+        }
+        return owners;
+    }
+
+    private static String number(String prefix, int i) {
+        return prefix + String.format("%011d", i);
+    }
+
+    private static void report(String name, int cards, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-10s %,9d cards in %7.2f s -> %,10.0f cards/s%n", name, cards, seconds, cards / seconds);
+    }
+}
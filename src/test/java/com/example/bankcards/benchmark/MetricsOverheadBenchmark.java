@@ -0,0 +1,54 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.config.properties.AesGcmProperties;
+import com.example.bankcards.config.properties.EncryptionProperties;
+import com.example.bankcards.security.AesGcmAttributeConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MetricsOverheadBenchmark {
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000_000);
+    private static final int ROUNDS = 5;
+    private static final String KEY = "p/IN8I6r5b9mWFXxRtgza4zaPbzLWwIahFw3oxc8Ws4=";
+
+    @Test
+    void decrypt_with_noop_versus_prometheus_timer() {
+        AesGcmAttributeConverter noop = converter(new CompositeMeterRegistry());
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        AesGcmAttributeConverter timed = converter(registry);
+        String ciphertext = noop.convertToDatabaseColumn("4000123412341234");
+
+        long noopNanos = Long.MAX_VALUE;
+        long timedNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            noopNanos = Math.min(noopNanos, run(noop, ciphertext));
+            timedNanos = Math.min(timedNanos, run(timed, ciphertext));
+        }
+
+        System.out.printf("decrypt  noop timer %,6d ns/op, prometheus timer %,6d ns/op, overhead %+,d ns/op%n",
+                noopNanos / ITERATIONS, timedNanos / ITERATIONS, (timedNanos - noopNanos) / ITERATIONS);
+        assertEquals((long) ROUNDS * ITERATIONS, registry.get(AesGcmAttributeConverter.DECRYPT_TIMER).timer().count());
+    }
+
+    private static long run(AesGcmAttributeConverter converter, String ciphertext) {
+        long started = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += converter.convertToEntityAttribute(ciphertext).length();
+        }
+        long nanos = System.nanoTime() - started;
+        assertEquals(16L * ITERATIONS, sink);
+        return nanos;
+    }
+
+    private static AesGcmAttributeConverter converter(MeterRegistry registry) {
+        return new AesGcmAttributeConverter(new EncryptionProperties(new AesGcmProperties(KEY, "", Map.of()), null, null), registry);
+    }
+}
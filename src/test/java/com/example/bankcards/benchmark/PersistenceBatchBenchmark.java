@@ -0,0 +1,108 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardNumberBlindIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class PersistenceBatchBenchmark {
+    private static final int CARDS = Integer.getInteger("benchmark.cards", 20_000);
+    private static final int CHUNK = 1_000;
+
+    @PersistenceContext EntityManager em;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired UserRepository userRepository;
+    @Autowired CardNumberBlindIndex blindIndex;
+
+    @Test
+    void unbatched_versus_batched_insert_and_update_throughput() {
+        String run = String.format("%04d", ThreadLocalRandom.current().nextInt(10_000));
+        User owner = userRepository.save(User.builder()
+                .username("bench-" + run)
+                .passwordHash("-")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+
+        List<UUID> unbatched = measure("unbatched", 1, owner, "3" + run);
+        List<UUID> batched = measure("batched", null, owner, "4" + run);
+
+        assertEquals(CARDS, unbatched.size());
+        assertEquals(CARDS, batched.size());
+    }
+
+    private List<UUID> measure(String name, Integer batchSize, User owner, String prefix) {
+        List<UUID> ids = new ArrayList<>(CARDS);
+        long started = System.nanoTime();
+        for (int from = 0; from < CARDS; from += CHUNK) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(tx -> {
+                session(batchSize);
+                for (int i = start; i < Math.min(start + CHUNK, CARDS); i++) {
+                    Card card = newCard(owner, number(prefix, i));
+                    em.persist(card);
+                    ids.add(card.getId());
+                }
+            });
+        }
+        report(name + " insert", CARDS, System.nanoTime() - started);
+
+        started = System.nanoTime();
+        for (int from = 0; from < CARDS; from += CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + CHUNK, CARDS));
+            transactionTemplate.executeWithoutResult(tx -> {
+                session(batchSize);
+                em.createQuery("select c from Card c where c.id in :ids", Card.class)
+                        .setParameter("ids", chunk)
+                        .getResultList()
+                        .forEach(card -> card.setBalance(card.getBalance().add(BigDecimal.ONE)));
+            });
+        }
+        report(name + " update", CARDS, System.nanoTime() - started);
+        return ids;
+    }
+
+    private void session(Integer batchSize) {
+        em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+    }
+
+    private Card newCard(User owner, String number) {
+        return Card.builder()
+                .owner(owner)
+                .number(number)
+                .numberHash(blindIndex.hash(number))
+                .last4(Card.last4Of(number))
+                .expiry(LocalDate.now().plusYears(3))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("10.00"))
+                .build();
+    }
+
+    private static String number(String prefix, int i) {
+        return prefix + String.format("%011d", i);
+    }
+
+    private static void report(String name, int cards, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-16s %,9d cards in %7.2f s -> %,10.0f cards/s%n", name, cards, seconds, cards / seconds);
+    }
+}
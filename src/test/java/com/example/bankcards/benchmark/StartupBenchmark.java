@@ -0,0 +1,125 @@
+package com.example.bankcards.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class StartupBenchmark {
+    private static final int RUNS = Integer.getInteger("benchmark.startup-runs", 3);
+    private static final int PORT = Integer.getInteger("benchmark.port", 18080);
+    private static final String DB_URL = System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/bankcards");
+    private static final String DB_USER = System.getProperty("benchmark.datasource.username", "marus");
+    private static final String DB_PASSWORD = System.getProperty("benchmark.datasource.password", "marus");
+    private static final String AOT_INITIALIZER = "BOOT-INF/classes/com/example/bankcards/BankcardsApplication__ApplicationContextInitializer.class";
+    private static final long TIMEOUT_MS = 120_000;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void time_to_first_served_request_per_startup_mode() throws Exception {
+        Path jar = packagedJar();
+        Path dir = Path.of("target", "startup");
+        run(List.of("-Djarmode=tools", "-jar", jar.toString(), "extract", "--force", "--destination", dir.toString()), Path.of("."));
+        Path app = dir.resolve(jar.getFileName());
+        run(List.of("-XX:ArchiveClassesAtExit=app.jsa", "-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh",
+                "-jar", app.getFileName().toString(),
+                "--spring.liquibase.enabled=false", "--app.migration.mode=update",
+                "--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false"), dir);
+
+        measure("fat jar", List.of("-jar", jar.toAbsolutePath().toString()), Path.of("."));
+        measure("extracted", List.of("-jar", app.getFileName().toString()), dir);
+        measure("extracted + AOT", List.of("-Dspring.aot.enabled=true", "-jar", app.getFileName().toString()), dir);
+        measure("extracted + AOT + CDS", List.of("-XX:SharedArchiveFile=app.jsa", "-Dspring.aot.enabled=true",
+                "-jar", app.getFileName().toString()), dir);
+    }
+
+    private void measure(String name, List<String> args, Path dir) throws Exception {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            List<String> command = new ArrayList<>(args);
+            command.add("--server.port=" + PORT);
+            Process process = start(command, dir, Path.of("target", "startup-" + name.replaceAll("\\W+", "-") + "-" + i + ".log"));
+            long started = System.nanoTime();
+            try {
+                awaitFirstRequest(process);
+                millis[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+            }
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-22s first request after %,7d ms (median of %d, min %,d, max %,d)%n",
+                name, millis[RUNS / 2], RUNS, millis[0], millis[RUNS - 1]);
+    }
+
+    private void awaitFirstRequest(Process process) throws Exception {
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin\"}"))
+                .build();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) throw new IllegalStateException("Application exited with " + process.exitValue());
+            try {
+                if (http.send(login, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("Application did not serve a request within " + TIMEOUT_MS + " ms");
+    }
+
+    private static void run(List<String> args, Path dir) throws Exception {
+        Process process = start(args, dir, Path.of("target", "startup-prepare.log"));
+        assertEquals(0, process.waitFor(), "java " + String.join(" ", args));
+    }
+
+    private static Process start(List<String> args, Path dir, Path log) throws IOException {
+        Files.createDirectories(dir);
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(args);
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toAbsolutePath().toFile());
+        builder.environment().putAll(Map.of(
+                "SPRING_DATASOURCE_URL", DB_URL,
+                "SPRING_DATASOURCE_USERNAME", DB_USER,
+                "SPRING_DATASOURCE_PASSWORD", DB_PASSWORD,
+                "ENCRYPTION_KEY", "p/IN8I6r5b9mWFXxRtgza4zaPbzLWwIahFw3oxc8Ws4=",
+                "BLIND_INDEX_KEY", "kJ3vXc0mQ6Vb1p2sT9yWzR4nH8uL5aE7dF0gK2iM6oY="));
+        return builder.start();
+    }
+
+    private static Path packagedJar() throws IOException {
+        Path jar;
+        try (Stream<Path> files = Files.list(Path.of("target"))) {
+            jar = files.filter(f -> f.getFileName().toString().endsWith(".jar")).findFirst().orElse(null);
+        }
+        assertNotNull(jar, "Build the application first: mvn -Paot package -DskipTests");
+        try (JarFile file = new JarFile(jar.toFile())) {
+            assertNotNull(file.getEntry(AOT_INITIALIZER), jar + " has no AOT artifacts, rebuild with mvn -Paot package -DskipTests");
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.bankcards.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaA;
+
+    @Mock
+    private DataSource replicaB;
+
+    @Mock
+    private ReplicaLagGuard lagGuard;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection connectionA;
+
+    @Mock
+    private Connection connectionB;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaA.getConnection()).thenReturn(connectionA);
+        when(replicaB.getConnection()).thenReturn(connectionB);
+        routing = new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB), lagGuard, 60_000);
+    }
+
+    @Test
+    void getConnection_roundRobinsOverReplicas() throws SQLException {
+        assertSame(connectionA, routing.getConnection());
+        assertSame(connectionB, routing.getConnection());
+        assertSame(connectionA, routing.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_afterOwnWrite_readsFromPrimary() throws SQLException {
+        when(lagGuard.currentUserWroteRecently()).thenReturn(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+        verify(primaryConnection).setReadOnly(true);
+        verifyNoInteractions(replicaA, replicaB);
+    }
+
+    @Test
+    void getConnection_skipsUnavailableReplicaUntilRetry() throws SQLException {
+        when(replicaA.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+
+        assertSame(connectionB, routing.getConnection());
+        assertSame(connectionB, routing.getConnection());
+        assertSame(connectionB, routing.getConnection());
+        verify(replicaA, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_allReplicasDown_fallsBackToPrimary() throws SQLException {
+        when(replicaA.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        when(replicaB.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertSame(primaryConnection, routing.getConnection());
+        verify(primaryConnection, times(2)).setReadOnly(true);
+    }
+
+    @Test
+    void getConnection_withCredentials_routesTheSameWay() throws SQLException {
+        when(replicaA.getConnection("reader", "secret")).thenReturn(connectionA);
+        when(primary.getConnection("reader", "secret")).thenReturn(primaryConnection);
+
+        assertSame(connectionA, routing.getConnection("reader", "secret"));
+
+        when(lagGuard.currentUserWroteRecently()).thenReturn(true);
+        assertSame(primaryConnection, routing.getConnection("reader", "secret"));
+        verify(primaryConnection).setReadOnly(true);
+    }
+}
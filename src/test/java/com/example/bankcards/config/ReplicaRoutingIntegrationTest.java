@@ -0,0 +1,156 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingIntegrationTest {
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:15")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of("echo 'host replication all all trust' >> \"$PGDATA/pg_hba.conf\"\n"),
+                    "/docker-entrypoint-initdb.d/replication.sh");
+
+    @Container
+    static final GenericContainer<?> REPLICA = new GenericContainer<>("postgres:15")
+            .withNetwork(NETWORK)
+            .dependsOn(PRIMARY)
+            .withExposedPorts(5432)
+            .withCommand("bash", "-c", """
+                    until gosu postgres pg_basebackup -h primary -U test -D /tmp/replica -R -X stream; do sleep 1; done
+                    chmod 700 /tmp/replica
+                    exec gosu postgres postgres -D /tmp/replica
+                    """)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*\\n", 1));
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("app.datasource.replicas[0].url", () -> "jdbc:postgresql://%s:%d/%s"
+                .formatted(REPLICA.getHost(), REPLICA.getMappedPort(5432), PRIMARY.getDatabaseName()));
+        registry.add("app.datasource.replicas[0].username", PRIMARY::getUsername);
+        registry.add("app.datasource.replicas[0].password", PRIMARY::getPassword);
+    }
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationEventPublisher eventPublisher;
+    @Autowired UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnly_transactions_use_replica_and_writes_use_primary() {
+        assertTrue(inRecovery(true));
+        assertFalse(inRecovery(false));
+        assertFalse(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    @Test
+    void user_reads_from_primary_right_after_own_write() {
+        User writer = signIn();
+        eventPublisher.publishEvent(new CardChangedEvent(writer.getId()));
+        assertFalse(inRecovery(true));
+
+        signIn();
+        assertTrue(inRecovery(true));
+    }
+
+    @Test
+    void replica_catches_up_with_primary_writes() throws InterruptedException {
+        String marker = "replica-" + UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, password_hash, role, enabled) VALUES (?, ?, 'x', 'USER', true)",
+                UUID.randomUUID(), marker);
+
+        TransactionTemplate readOnly = readOnlyTemplate();
+        for (int i = 0; i < 50; i++) {
+            Integer found = readOnly.execute(tx -> jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM users WHERE username = ?", Integer.class, marker));
+            if (found != null && found == 1) return;
+            Thread.sleep(100);
+        }
+        fail("Replica did not receive the write");
+    }
+
+    @Test
+    void authentication_lookup_sees_users_not_yet_replicated() throws Exception {
+        try (Connection replica = DriverManager.getConnection("jdbc:postgresql://%s:%d/%s"
+                .formatted(REPLICA.getHost(), REPLICA.getMappedPort(5432), PRIMARY.getDatabaseName()),
+                PRIMARY.getUsername(), PRIMARY.getPassword());
+             Statement statement = replica.createStatement()) {
+            statement.execute("SELECT pg_wal_replay_pause()");
+            try {
+                UUID id = UUID.randomUUID();
+                jdbcTemplate.update("INSERT INTO users (id, username, password_hash, role, enabled) VALUES (?, ?, 'x', 'USER', true)",
+                        id, "lagging-" + id);
+
+                assertTrue(userRepository.findById(id).isEmpty());
+                assertTrue(userRepository.findForAuthentication(id).isPresent());
+            } finally {
+                statement.execute("SELECT pg_wal_replay_resume()");
+            }
+        }
+    }
+
+    private Boolean inRecovery(boolean readOnly) {
+        TransactionTemplate template = readOnly ? readOnlyTemplate() : new TransactionTemplate(transactionManager);
+        return template.execute(tx -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    private TransactionTemplate readOnlyTemplate() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private User signIn() {
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .username("u-" + UUID.randomUUID())
+                .passwordHash("x")
+                .role(Role.USER)
+                .enabled(true)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        return user;
+    }
+}
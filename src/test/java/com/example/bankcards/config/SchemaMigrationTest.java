@@ -0,0 +1,60 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.SchemaMigrationApplication;
+import jakarta.persistence.EntityManagerFactory;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SchemaMigrationTest {
+
+    @Autowired SpringLiquibase liquibase;
+    @Autowired DataSource dataSource;
+    @Autowired ResourceLoader resourceLoader;
+    @Autowired Environment environment;
+
+    @Test
+    void verify_migratedSchema_passes() {
+        assertDoesNotThrow(() -> SchemaVersionVerifier.verify(liquibase));
+    }
+
+    @Test
+    void verify_pendingChangeSet_failsWithMigrateHint() {
+        SpringLiquibase ahead = new SpringLiquibase();
+        ahead.setDataSource(dataSource);
+        ahead.setResourceLoader(resourceLoader);
+        ahead.setChangeLog("classpath:db/changelog/test-pending-changelog.yaml");
+        ahead.setLiquibaseSchema(liquibase.getLiquibaseSchema());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> SchemaVersionVerifier.verify(ahead));
+
+        assertTrue(e.getMessage().contains("999:test"), e.getMessage());
+        assertFalse(e.getMessage().contains("10:marus"), e.getMessage());
+        assertTrue(e.getMessage().contains("--migrate"));
+    }
+
+    @Test
+    void migrate_startsOnlyDataSourceAndLiquibase() {
+        String[] args = {
+                SchemaMigrationApplication.FLAG,
+                "--spring.datasource.url=" + environment.getProperty("spring.datasource.url"),
+                "--spring.datasource.username=" + environment.getProperty("spring.datasource.username", ""),
+                "--spring.datasource.password=" + environment.getProperty("spring.datasource.password", "")
+        };
+
+        try (ConfigurableApplicationContext context = SchemaMigrationApplication.migrate(args)) {
+            assertEquals(1, context.getBeanNamesForType(SpringLiquibase.class).length);
+            assertEquals(0, context.getBeanNamesForType(EntityManagerFactory.class).length);
+            assertDoesNotThrow(() -> SchemaVersionVerifier.verify(context.getBean(SpringLiquibase.class)));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.auth.RegistryRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+class ActuatorEndpointsTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper objectMapper;
+
+    @Test
+    void prometheus_withScrapeCredentials_exposesHotPathTimers() throws Exception {
+        RegistryRequest signup = new RegistryRequest("metrics-" + UUID.randomUUID().toString().substring(0, 8), "password1");
+        mvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signup)))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("bankcards_password_encode_seconds_bucket{")))
+                .andExpect(content().string(containsString("bankcards_jwt_generate_seconds_count{type=\"access\"}")))
+                .andExpect(content().string(containsString("bankcards_jwt_parse_seconds_count{outcome=\"rejected\",type=\"refresh\"}")))
+                .andExpect(content().string(containsString("bankcards_card_number_decrypt_seconds_bucket{")))
+                .andExpect(content().string(containsString("bankcards_transfer_seconds_count{outcome=\"insufficient_funds\"}")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")));
+    }
+
+    @Test
+    void prometheus_requiresScrapeCredentials() throws Exception {
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/prometheus").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void health_isPublic() throws Exception {
+        mvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void metrics_requireAdmin() throws Exception {
+        mvc.perform(get("/actuator/metrics"))
+                .andExpect(status().is4xxClientError());
+        mvc.perform(get("/actuator/metrics").with(user("user").roles("USER")))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/metrics/bankcards.transfer").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+}
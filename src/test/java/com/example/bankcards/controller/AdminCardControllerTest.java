@@ -2,6 +2,7 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.card.CreateCardRequest;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardLookupRequest;
 import com.example.bankcards.entity.CardStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,13 +12,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.http.MediaType;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 import static javax.management.Query.eq;
-import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,7 +46,7 @@ class AdminCardControllerTest {
     void createCard_returns201() throws Exception {
         CreateCardRequest req = new CreateCardRequest(
                 ownerId,
-                "4111111111111111",
+                "5111111111111111",
                 "2028-12",
                 new BigDecimal("1000.00"),
                 "ACTIVE"
@@ -62,7 +66,7 @@ class AdminCardControllerTest {
     void changeStatus_returns200() throws Exception {
         CreateCardRequest createReq = new CreateCardRequest(
                 ownerId,
-                "4222222222222222",
+                "5222222222222222",
                 "2028-12",
                 new BigDecimal("0.00"),
                 "ACTIVE"
@@ -90,7 +94,7 @@ class AdminCardControllerTest {
     void deleteCard_noConflict_returns204() throws Exception {
         CreateCardRequest createReq = new CreateCardRequest(
                 ownerId,
-                "4333333333333333",
+                "5333333333333333",
                 "2028-12",
                 new BigDecimal("10.00"),
                 "ACTIVE"
@@ -108,4 +112,178 @@ class AdminCardControllerTest {
         mvc.perform(delete("/admin/cards/{id}", existingCardId))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void createCard_duplicateNumber_returns400() throws Exception {
+        CreateCardRequest req = new CreateCardRequest(
+                ownerId,
+                "5444444444444444",
+                "2028-12",
+                new BigDecimal("0.00"),
+                "ACTIVE"
+        );
+
+        mvc.perform(post("/admin/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated());
+
+        mvc.perform(post("/admin/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void lookupByNumber_returnsCard() throws Exception {
+        CreateCardRequest createReq = new CreateCardRequest(
+                ownerId,
+                "5555555555555555",
+                "2028-12",
+                new BigDecimal("0.00"),
+                "ACTIVE"
+        );
+
+        String createResponse = mvc.perform(post("/admin/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createReq)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        CardDto created = objectMapper.readValue(createResponse, CardDto.class);
+
+        mvc.perform(post("/admin/cards/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CardLookupRequest("5555555555555555"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(created.id().toString())));
+
+        mvc.perform(post("/admin/cards/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CardLookupRequest("5999999999999999"))))
+                .andExpect(status().isNotFound());
+    }
+
+    private CardDto createCard(String number, String expiry) throws Exception {
+        CreateCardRequest req = new CreateCardRequest(ownerId, number, expiry, new BigDecimal("10.00"), "ACTIVE");
+        String resp = mvc.perform(post("/admin/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(resp, CardDto.class);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void search_filters_and_walks_cursor() throws Exception {
+        CardDto first = createCard("5600000000004101", "2041-01");
+        CardDto second = createCard("5600000000004102", "2041-06");
+        CardDto third = createCard("5600000000004103", "2041-12");
+        mvc.perform(patch("/admin/cards/{id}/status", second.id()).param("status", "BLOCKED"))
+                .andExpect(status().isOk());
+
+        String page = mvc.perform(get("/admin/cards")
+                        .param("ownerId", ownerId.toString())
+                        .param("expiryFrom", "2041-01-01")
+                        .param("expiryTo", "2041-12-31")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(third.id().toString(), second.id().toString())))
+                .andExpect(jsonPath("$.content[0].ownerId", is(ownerId.toString())))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(page).get("nextCursor").asText();
+
+        mvc.perform(get("/admin/cards")
+                        .param("ownerId", ownerId.toString())
+                        .param("expiryFrom", "2041-01-01")
+                        .param("expiryTo", "2041-12-31")
+                        .param("size", "2")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(first.id().toString())))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        mvc.perform(get("/admin/cards").param("status", "BLOCKED").param("last4", "4102"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(second.id().toString())));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void search_rejects_invalid_filters() throws Exception {
+        mvc.perform(get("/admin/cards").param("last4", "12a4"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/admin/cards").param("expiryFrom", "2042-01-01").param("expiryTo", "2041-01-01"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/admin/cards").param("size", "501"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void export_streams_matching_cards_as_csv() throws Exception {
+        CardDto first = createCard("5600000000004201", "2043-03");
+        CardDto second = createCard("5600000000004202", "2043-04");
+
+        MvcResult result = mvc.perform(get("/admin/cards/export")
+                        .param("expiryFrom", "2043-01-01")
+                        .param("expiryTo", "2043-12-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("cards.csv")))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = csv.split("\n");
+        assertEquals("id,ownerId,maskedNumber,status,balance,expiry,createdAt", lines[0]);
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].startsWith(second.id() + "," + ownerId + ",**** **** **** 4202,ACTIVE,10.0000,2043-04-30,"));
+        assertTrue(lines[2].startsWith(first.id().toString()));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void bulkIssue_loads_cards_from_csv() throws Exception {
+        String csv = "ownerId,number,expiry,balance\n"
+                + ownerId + ",5700000000004301,2044-01,10.00\n"
+                + ownerId + ",5700000000004302,2044-02,20.00\n"
+                + ownerId + ",5700000000004303,2044-03,30.00\n";
+
+        mvc.perform(post("/admin/cards/bulk").contentType("text/csv").content(csv))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.issued", is(3)))
+                .andExpect(jsonPath("$.owners", is(1)));
+
+        mvc.perform(get("/admin/cards").param("expiryFrom", "2044-01-01").param("expiryTo", "2044-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[*].maskedNumber", containsInAnyOrder(
+                        "**** **** **** 4301", "**** **** **** 4302", "**** **** **** 4303")));
+
+        mvc.perform(post("/admin/cards/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CardLookupRequest("5700000000004302"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(20.0)));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void bulkIssue_rejects_whole_file_on_invalid_line() throws Exception {
+        String csv = ownerId + ",5700000000004401,2045-01,10.00\n"
+                + UUID.randomUUID() + ",5700000000004402,2045-01,10.00\n";
+
+        mvc.perform(post("/admin/cards/bulk").contentType("text/csv").content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Line 2")));
+
+        mvc.perform(get("/admin/cards").param("expiryFrom", "2045-01-01").param("expiryTo", "2045-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
 }
@@ -0,0 +1,160 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.card.TransferRequest;
+import com.example.bankcards.jfr.CardNumberCipherEvent;
+import com.example.bankcards.jfr.HttpRequestEvent;
+import com.example.bankcards.jfr.JfrIds;
+import com.example.bankcards.jfr.TokenParseEvent;
+import com.example.bankcards.jfr.TransferEvent;
+import com.example.bankcards.security.AesGcmAttributeConverter;
+import com.example.bankcards.service.CardTransferService;
+import com.example.bankcards.service.FlightRecorderService;
+import com.example.bankcards.service.JwtService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminFlightRecordingControllerTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired FlightRecorderService flightRecorderService;
+    @Autowired CardTransferService transferService;
+    @Autowired JwtService jwtService;
+    @Autowired AesGcmAttributeConverter cipher;
+
+    @AfterEach
+    void closeRecording() {
+        flightRecorderService.close();
+    }
+
+    @Test
+    void startStopDump_returnsRecordingWithHashedTransferEvent() throws Exception {
+        mvc.perform(post("/admin/jfr/start").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.settings").value("default"));
+
+        UUID userId = UUID.randomUUID();
+        UUID fromCardId = UUID.randomUUID();
+        assertThrows(IllegalArgumentException.class, () -> transferService.transfer(userId,
+                new TransferRequest(fromCardId, UUID.randomUUID(), new BigDecimal("1.00"))));
+
+        mvc.perform(post("/admin/jfr/stop").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+
+        MvcResult started = mvc.perform(get("/admin/jfr/dump").with(user("admin").roles("ADMIN")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] dump = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        RecordedEvent transfer = events(dump, TransferEvent.NAME).stream()
+                .filter(e -> JfrIds.hash(userId).equals(e.getString("user")))
+                .findFirst().orElseThrow();
+        assertEquals(JfrIds.hash(fromCardId), transfer.getString("fromCard"));
+        assertEquals("not_found", transfer.getString("outcome"));
+        assertNotEquals(userId.toString(), transfer.getString("user"));
+    }
+
+    @Test
+    void dump_doesNotContainEnvironmentOrSystemProperties() throws Exception {
+        for (String settings : List.of("default", "profile")) {
+            mvc.perform(post("/admin/jfr/start").param("settings", settings).with(user("admin").roles("ADMIN")))
+                    .andExpect(status().isOk());
+            mvc.perform(post("/admin/jfr/stop").with(user("admin").roles("ADMIN")))
+                    .andExpect(status().isOk());
+
+            MvcResult started = mvc.perform(get("/admin/jfr/dump").with(user("admin").roles("ADMIN")))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            byte[] dump = mvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            for (String name : FlightRecorderService.DISABLED_EVENTS) {
+                assertTrue(events(dump, name).isEmpty(), settings + " recording contains " + name);
+            }
+            assertFalse(events(dump, "jdk.ActiveSetting").isEmpty(), settings + " recording is empty");
+        }
+    }
+
+    @Test
+    void start_whenRunning_isRejected_andOtherRolesAreForbidden() throws Exception {
+        mvc.perform(post("/admin/jfr/start").with(user("user").roles("USER")))
+                .andExpect(status().isForbidden());
+        mvc.perform(post("/admin/jfr/start").param("settings", "no-such-settings").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/admin/jfr/start").param("settings", "profile").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        mvc.perform(post("/admin/jfr/start").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/admin/jfr").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.settings").value("profile"));
+    }
+
+    @Test
+    void hotPaths_emitEvents() throws Exception {
+        Path file = Files.createTempFile("events-", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of(TokenParseEvent.NAME, CardNumberCipherEvent.NAME, HttpRequestEvent.NAME)) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            assertThrows(Exception.class, () -> jwtService.parseAccessToken("not-a-token"));
+            cipher.reencrypt(cipher.convertToDatabaseColumn("4000123412341234"));
+            UUID cardId = UUID.randomUUID();
+            mvc.perform(get("/cards/" + cardId)).andExpect(status().isForbidden());
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(TokenParseEvent.NAME)
+                    && "access".equals(e.getString("tokenType")) && !e.getBoolean("valid")));
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(CardNumberCipherEvent.NAME)
+                    && "decrypt".equals(e.getString("operation"))));
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(HttpRequestEvent.NAME)
+                    && "/cards/{id}".equals(e.getString("path"))));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> events(byte[] dump, String name) throws Exception {
+        Path file = Files.createTempFile("dump-", ".jfr");
+        try {
+            Files.write(file, dump);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals(name))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
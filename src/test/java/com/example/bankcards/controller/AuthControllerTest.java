@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -71,6 +72,13 @@ class AuthControllerTest {
         assertNotNull(resp.getRefreshToken());
     }
 
+    @Test
+    void accessToken_rightAfterSignUp_authenticatesRequests() throws Exception {
+        mockMvc.perform(get("/cards/summary")
+                        .header("Authorization", "Bearer " + initialAuth.getAccessToken()))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void logIn_shouldReturnTokens() throws Exception {
         LoginRequest req = new LoginRequest(username, password);
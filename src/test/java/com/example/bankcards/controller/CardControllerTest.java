@@ -2,30 +2,52 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.card.CardDto;
 import com.example.bankcards.dto.card.CreateCardRequest;
+import com.example.bankcards.dto.card.DashboardDto;
 import com.example.bankcards.dto.card.TransferRequest;
+import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.AesGcmAttributeConverter;
+import com.example.bankcards.service.CardExpirySweeper;
+import com.example.bankcards.service.DashboardCounterService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -37,6 +59,13 @@ class CardControllerTest {
     @Autowired ObjectMapper objectMapper;
     @Autowired UserRepository userRepository;
     @Autowired org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired CardRepository cardRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired CardExpirySweeper expirySweeper;
+    @Autowired DashboardCounterService dashboardCounterService;
 
     private static final String USERNAME = "user1";
     private static final String OTHER = "user2";
@@ -75,10 +104,14 @@ class CardControllerTest {
     }
 
     private CardDto createCardAsAdmin(UUID ownerId, String number) throws Exception {
+        return createCardAsAdmin(ownerId, number, "2028-12");
+    }
+
+    private CardDto createCardAsAdmin(UUID ownerId, String number, String expiry) throws Exception {
         CreateCardRequest create = new CreateCardRequest(
                 ownerId,
                 number,
-                "2028-12",
+                expiry,
                 new BigDecimal("1000.00"),
                 "ACTIVE"
         );
@@ -109,6 +142,23 @@ class CardControllerTest {
                         .content(objectMapper.writeValueAsString(transferReq)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status", is("ok")));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from outbox where payload->>'fromCardId' = ?", Integer.class, from.id().toString()));
+    }
+
+    @Test
+    void transfer_amount_with_more_than_four_decimals_returns400() throws Exception {
+        UUID ownerId = userRepository.findByUsername(USERNAME).get().getId();
+        CardDto from = createCardAsAdmin(ownerId, "4222222222222223");
+        CardDto to = createCardAsAdmin(ownerId, "4333333333333334");
+
+        TransferRequest transferReq = new TransferRequest(from.id(), to.id(), new BigDecimal("0.00001"));
+
+        mvc.perform(post("/cards/transfer")
+                        .with(authentication(authFor(USERNAME)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transferReq)))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -146,4 +196,531 @@ class CardControllerTest {
                 .andExpect(jsonPath("$.content", hasSize(greaterThanOrEqualTo(1))))
                 .andExpect(jsonPath("$.content[0].maskedNumber", containsString("1111")));
     }
+
+    @Test
+    void listOwn_search_by_last4_is_applied_in_query() throws Exception {
+        UUID ownerId = userRepository.findByUsername(USERNAME).get().getId();
+        createCardAsAdmin(ownerId, "4000000000001234");
+        createCardAsAdmin(ownerId, "4000000000005678");
+
+        mvc.perform(get("/cards")
+                        .with(authentication(authFor(USERNAME)))
+                        .param("page", "0")
+                        .param("size", "10")
+                        .param("search", "5678"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].maskedNumber", is("**** **** **** 5678")))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
+    @Test
+    void listOwn_and_getOne_mask_rows_without_backfilled_last4() throws Exception {
+        UUID ownerId = userRepository.findByUsername(USERNAME).get().getId();
+        CardDto card = createCardAsAdmin(ownerId, "4000000000007777");
+        jdbcTemplate.update("update cards set last4 = null where id = ?", card.id());
+        entityManagerFactory.getCache().evict(Card.class, card.id());
+
+        mvc.perform(get("/cards")
+                        .with(authentication(authFor(USERNAME)))
+                        .param("page", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].maskedNumber", hasItem("**** **** **** 7777")));
+
+        mvc.perform(get("/cards/" + card.id())
+                        .with(authentication(authFor(USERNAME))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maskedNumber", is("**** **** **** 7777")));
+    }
+
+    @Test
+    void listOwn_and_transfer_do_not_decrypt_card_numbers() throws Exception {
+        UUID ownerId = userRepository.findByUsername(USERNAME).get().getId();
+        CardDto from = createCardAsAdmin(ownerId, "4000000000009012");
+        CardDto to = createCardAsAdmin(ownerId, "4000000000003456");
+        long before = decryptCount();
+
+        mvc.perform(get("/cards")
+                        .with(authentication(authFor(USERNAME))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].maskedNumber", hasItem("**** **** **** 9012")));
+
+        mvc.perform(post("/cards/transfer")
+                        .with(authentication(authFor(USERNAME)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(from.id(), to.id(), new BigDecimal("10.00")))))
+                .andExpect(status().isOk());
+
+        assertEquals(before, decryptCount());
+    }
+
+    private long decryptCount() {
+        return meterRegistry.get(AesGcmAttributeConverter.DECRYPT_TIMER).timer().count();
+    }
+
+    @Test
+    void listOwn_without_total_returns_slice_with_offset() throws Exception {
+        String username = "slice-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+        createCardAsAdmin(ownerId, "4000000000044444");
+        createCardAsAdmin(ownerId, "4000000000055555");
+        createCardAsAdmin(ownerId, "4000000000066666");
+
+        mvc.perform(get("/cards")
+                        .with(authentication(authFor(username)))
+                        .param("page", "0")
+                        .param("size", "2")
+                        .param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.last", is(false)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mvc.perform(get("/cards")
+                        .with(authentication(authFor(username)))
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].maskedNumber", is("**** **** **** 4444")))
+                .andExpect(jsonPath("$.last", is(true)));
+    }
+
+    @Test
+    void listOwn_cached_total_is_refreshed_after_card_changes() throws Exception {
+        String username = "count-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+        CardDto first = createCardAsAdmin(ownerId, "4000000000077777");
+
+        mvc.perform(get("/cards").with(authentication(authFor(username))).param("status", "ACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)));
+
+        createCardAsAdmin(ownerId, "4000000000088888");
+        mvc.perform(post("/cards/{id}/request-block", first.id())
+                        .with(authentication(authFor(username))))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/cards").with(authentication(authFor(username))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(2)));
+        mvc.perform(get("/cards").with(authentication(authFor(username))).param("status", "ACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.content[0].maskedNumber", is("**** **** **** 8888")));
+    }
+
+    @Test
+    void scrollOwn_walks_all_cards_with_cursor() throws Exception {
+        String username = "scroll-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+        createCardAsAdmin(ownerId, "4000000000011111");
+        createCardAsAdmin(ownerId, "4000000000022222");
+        createCardAsAdmin(ownerId, "4000000000033333");
+
+        String first = mvc.perform(get("/cards/scroll")
+                        .with(authentication(authFor(username)))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].maskedNumber", is("**** **** **** 3333")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+        mvc.perform(get("/cards/scroll")
+                        .with(authentication(authFor(username)))
+                        .param("size", "2")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].maskedNumber", is("**** **** **** 1111")))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void scrollOwn_invalid_cursor_returns400() throws Exception {
+        mvc.perform(get("/cards/scroll")
+                        .with(authentication(authFor(USERNAME)))
+                        .param("after", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void card_reads_project_rows_without_loading_entities() throws Exception {
+        UUID ownerId = userRepository.findByUsername(USERNAME).get().getId();
+        createCardAsAdmin(ownerId, "4000000000099999");
+        EntityStatistics cards = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics().getEntityStatistics(Card.class.getName());
+        long loadsBefore = cards.getLoadCount();
+
+        mvc.perform(get("/cards").with(authentication(authFor(USERNAME))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].maskedNumber", hasItem("**** **** **** 9999")));
+        mvc.perform(get("/cards").with(authentication(authFor(USERNAME))).param("search", "9999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)));
+        mvc.perform(get("/cards/scroll").with(authentication(authFor(USERNAME))))
+                .andExpect(status().isOk());
+        mvc.perform(post("/admin/cards/lookup")
+                        .with(authentication(authFor(ADMIN)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"number\":\"4000000000099999\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maskedNumber", is("**** **** **** 9999")));
+
+        assertEquals(loadsBefore, cards.getLoadCount());
+    }
+
+    @Test
+    void listOwn_returns_304_for_matching_etag_until_cards_change() throws Exception {
+        String username = "etag-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+        createCardAsAdmin(ownerId, "4000000000012121");
+
+        String etag = mvc.perform(get("/cards").with(authentication(authFor(username))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/cards").with(authentication(authFor(username))).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mvc.perform(get("/cards").with(authentication(authFor(username))).param("size", "5").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        createCardAsAdmin(ownerId, "4000000000013131");
+        mvc.perform(get("/cards").with(authentication(authFor(username))).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.content", hasSize(2)));
+    }
+
+    @Test
+    void getOwn_supports_conditional_get_and_rejects_other_cards() throws Exception {
+        UUID ownerId = userRepository.findByUsername(USERNAME).get().getId();
+        UUID otherId = userRepository.findByUsername(OTHER).get().getId();
+        CardDto own = createCardAsAdmin(ownerId, "4000000000014141");
+        CardDto foreign = createCardAsAdmin(otherId, "4000000000015151");
+
+        String etag = mvc.perform(get("/cards/{id}", own.id()).with(authentication(authFor(USERNAME))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maskedNumber", is("**** **** **** 4141")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/cards/{id}", own.id()).with(authentication(authFor(USERNAME))).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mvc.perform(post("/cards/{id}/request-block", own.id()).with(authentication(authFor(USERNAME))))
+                .andExpect(status().isOk());
+        mvc.perform(get("/cards/{id}", own.id()).with(authentication(authFor(USERNAME))).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("BLOCKED")));
+
+        mvc.perform(get("/cards/{id}", foreign.id()).with(authentication(authFor(USERNAME))))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/cards/{id}", UUID.randomUUID()).with(authentication(authFor(USERNAME))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void second_level_cache_stays_coherent_after_transfer_and_status_change() throws Exception {
+        UUID ownerId = userRepository.findByUsername(USERNAME).get().getId();
+        CardDto from = createCardAsAdmin(ownerId, "4000000000016161");
+        CardDto to = createCardAsAdmin(ownerId, "4000000000017171");
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        cardRepository.findById(from.id());
+        cardRepository.findById(to.id());
+        assertTrue(entityManagerFactory.getCache().contains(Card.class, from.id()));
+        long hits = stats.getSecondLevelCacheHitCount();
+        cardRepository.findById(from.id());
+        assertTrue(stats.getSecondLevelCacheHitCount() > hits);
+
+        mvc.perform(post("/cards/transfer")
+                        .with(authentication(authFor(USERNAME)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(from.id(), to.id(), new BigDecimal("25.00")))))
+                .andExpect(status().isOk());
+
+        assertCachedMatchesDatabase(from.id());
+        assertCachedMatchesDatabase(to.id());
+        assertEquals(0, new BigDecimal("975.00").compareTo(cardRepository.findById(from.id()).get().getBalance()));
+
+        mvc.perform(patch("/admin/cards/{id}/status", to.id())
+                        .with(authentication(authFor(ADMIN)))
+                        .param("status", "BLOCKED"))
+                .andExpect(status().isOk());
+
+        assertCachedMatchesDatabase(to.id());
+        assertEquals("BLOCKED", cardRepository.findById(to.id()).get().getStatus().name());
+    }
+
+    private void assertCachedMatchesDatabase(UUID cardId) {
+        Card cached = cardRepository.findById(cardId).orElseThrow();
+        var row = jdbcTemplate.queryForMap("select balance, status, version from cards where id = ?", cardId);
+        assertEquals(0, ((BigDecimal) row.get("balance")).compareTo(cached.getBalance()));
+        assertEquals(row.get("status"), cached.getStatus().name());
+        assertEquals(((Number) row.get("version")).longValue(), cached.getVersion());
+    }
+
+    @Test
+    void listOwn_first_page_reflects_transfer_immediately() throws Exception {
+        String username = "near-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+        CardDto from = createCardAsAdmin(ownerId, "4000000000018181");
+        CardDto to = createCardAsAdmin(ownerId, "4000000000019191");
+
+        mvc.perform(get("/cards").with(authentication(authFor(username))).param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[?(@.id == '%s')].balance".formatted(from.id()), contains(1000.0)));
+
+        mvc.perform(post("/cards/transfer")
+                        .with(authentication(authFor(username)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(from.id(), to.id(), new BigDecimal("40.00")))))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/cards").with(authentication(authFor(username))).param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[?(@.id == '%s')].balance".formatted(from.id()), contains(960.0)))
+                .andExpect(jsonPath("$.content[?(@.id == '%s')].balance".formatted(to.id()), contains(1040.0)));
+    }
+
+    @Test
+    void summary_tracks_card_lifecycle() throws Exception {
+        String username = "summary-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+
+        mvc.perform(get("/cards/summary").with(authentication(authFor(username))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalBalance", is(0)))
+                .andExpect(jsonPath("$.active", is(0)));
+
+        CardDto first = createCardAsAdmin(ownerId, "4000000000021212");
+        CardDto second = createCardAsAdmin(ownerId, "4000000000022323");
+        CardDto third = createCardAsAdmin(ownerId, "4000000000023434");
+
+        mvc.perform(post("/cards/transfer")
+                        .with(authentication(authFor(username)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(first.id(), second.id(), new BigDecimal("25.00")))))
+                .andExpect(status().isOk());
+        mvc.perform(post("/cards/{id}/request-block", first.id()).with(authentication(authFor(username))))
+                .andExpect(status().isOk());
+        mvc.perform(patch("/admin/cards/{id}/status", second.id()).param("status", "EXPIRED")
+                        .with(authentication(authFor(ADMIN))))
+                .andExpect(status().isOk());
+        mvc.perform(delete("/admin/cards/{id}", third.id()).with(authentication(authFor(ADMIN))))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/cards/summary").with(authentication(authFor(username))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalBalance", is(2000.0)))
+                .andExpect(jsonPath("$.active", is(0)))
+                .andExpect(jsonPath("$.blocked", is(1)))
+                .andExpect(jsonPath("$.expired", is(1)));
+
+        BigDecimal recomputed = jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(balance), 0) FROM cards WHERE owner_id = ?", BigDecimal.class, ownerId);
+        BigDecimal stored = jdbcTemplate.queryForObject(
+                "SELECT total_balance FROM user_card_summary WHERE user_id = ?", BigDecimal.class, ownerId);
+        assertEquals(0, recomputed.compareTo(stored));
+    }
+
+    @Test
+    void dashboard_counts_committed_changes_and_flushes_them() throws Exception {
+        String username = "dashboard-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+        DashboardDto before = dashboard();
+
+        CardDto first = createCardAsAdmin(ownerId, "4000000000031111");
+        CardDto second = createCardAsAdmin(ownerId, "4000000000032222");
+        CardDto third = createCardAsAdmin(ownerId, "4000000000035555");
+        mvc.perform(post("/cards/transfer")
+                        .with(authentication(authFor(username)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(first.id(), second.id(), new BigDecimal("25.00")))))
+                .andExpect(status().isOk());
+        mvc.perform(post("/cards/transfer")
+                        .with(authentication(authFor(username)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(first.id(), second.id(), new BigDecimal("5000.00")))))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/cards/{id}/request-block", first.id()).with(authentication(authFor(username))))
+                .andExpect(status().isOk());
+        mvc.perform(patch("/admin/cards/{id}/status", second.id()).param("status", "EXPIRED")
+                        .with(authentication(authFor(ADMIN))))
+                .andExpect(status().isOk());
+        mvc.perform(delete("/admin/cards/{id}", third.id()).with(authentication(authFor(ADMIN))))
+                .andExpect(status().isNoContent());
+
+        DashboardDto after = dashboard();
+        assertEquals(before.active(), after.active());
+        assertEquals(before.blocked() + 1, after.blocked());
+        assertEquals(before.expired() + 1, after.expired());
+        assertEquals(0, before.totalBalance().add(new BigDecimal("2000")).compareTo(after.totalBalance()));
+        assertEquals(before.transfers() + 1, after.transfers());
+        assertEquals(0, before.transferVolume().add(new BigDecimal("25")).compareTo(after.transferVolume()));
+
+        dashboardCounterService.flush();
+        Long stored = jdbcTemplate.queryForObject(
+                "SELECT value FROM dashboard_counters WHERE name = 'TRANSFER_COUNT'", Long.class);
+        assertEquals(after.transfers(), stored);
+        assertEquals(after, dashboard());
+
+        mvc.perform(get("/admin/dashboard").with(authentication(authFor(username))))
+                .andExpect(status().isForbidden());
+    }
+
+    private DashboardDto dashboard() throws Exception {
+        String resp = mvc.perform(get("/admin/dashboard").with(authentication(authFor(ADMIN))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(resp, DashboardDto.class);
+    }
+
+    @Test
+    void bulk_status_change_updates_caches_summary_and_versions() throws Exception {
+        String username = "bulk-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+        CardDto first = createCardAsAdmin(ownerId, "4000000000024545");
+        CardDto second = createCardAsAdmin(ownerId, "4000000000025656");
+        CardDto foreign = createCardAsAdmin(userRepository.findByUsername(OTHER).get().getId(), "4000000000026767");
+        mvc.perform(post("/cards/{id}/request-block", second.id()).with(authentication(authFor(username))))
+                .andExpect(status().isOk());
+
+        cardRepository.findById(first.id());
+        assertTrue(entityManagerFactory.getCache().contains(Card.class, first.id()));
+        mvc.perform(get("/cards").with(authentication(authFor(username))).param("withTotal", "false"))
+                .andExpect(jsonPath("$.content[*].status", containsInAnyOrder("ACTIVE", "BLOCKED")));
+
+        mvc.perform(patch("/admin/cards/status")
+                        .with(authentication(authFor(ADMIN)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"EXPIRED\",\"ownerId\":\"%s\"}".formatted(ownerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(2)))
+                .andExpect(jsonPath("$.owners", is(1)));
+
+        assertCachedMatchesDatabase(first.id());
+        assertEquals(1L, cardRepository.findById(first.id()).get().getVersion());
+        mvc.perform(get("/cards").with(authentication(authFor(username))).param("withTotal", "false"))
+                .andExpect(jsonPath("$.content[*].status", contains("EXPIRED", "EXPIRED")));
+        mvc.perform(get("/cards/summary").with(authentication(authFor(username))))
+                .andExpect(jsonPath("$.active", is(0)))
+                .andExpect(jsonPath("$.blocked", is(0)))
+                .andExpect(jsonPath("$.expired", is(2)));
+        assertEquals("ACTIVE", cardRepository.findById(foreign.id()).get().getStatus().name());
+
+        mvc.perform(patch("/admin/cards/status")
+                        .with(authentication(authFor(ADMIN)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"BLOCKED\",\"ids\":[\"%s\",\"%s\"]}".formatted(first.id(), foreign.id())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(2)))
+                .andExpect(jsonPath("$.owners", is(2)));
+        mvc.perform(patch("/admin/cards/status")
+                        .with(authentication(authFor(ADMIN)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"BLOCKED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void expiry_sweeper_expires_due_cards_and_skips_locked_rows() throws Exception {
+        String username = "sweep-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+        CardDto due = createCardAsAdmin(ownerId, "4000000000027878", "2020-01");
+        CardDto locked = createCardAsAdmin(ownerId, "4000000000028989", "2020-02");
+        CardDto valid = createCardAsAdmin(ownerId, "4000000000029090", "2030-01");
+
+        mvc.perform(post("/cards/transfer")
+                        .with(authentication(authFor(username)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(valid.id(), due.id(), new BigDecimal("1.00")))))
+                .andExpect(status().isBadRequest());
+        cardRepository.findById(due.id());
+
+        CountDownLatch lockHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.queryForObject("select id from cards where id = ? for update", UUID.class, locked.id());
+            lockHeld.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+        assertTrue(lockHeld.await(10, TimeUnit.SECONDS));
+        try {
+            assertEquals(1, expirySweeper.sweep(LocalDate.now()));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+        assertEquals(1, expirySweeper.sweep(LocalDate.now()));
+        assertEquals(0, expirySweeper.sweep(LocalDate.now()));
+
+        assertCachedMatchesDatabase(due.id());
+        mvc.perform(get("/cards").with(authentication(authFor(username))).param("withTotal", "false"))
+                .andExpect(jsonPath("$.content[?(@.id == '%s')].status".formatted(due.id()), contains("EXPIRED")))
+                .andExpect(jsonPath("$.content[?(@.id == '%s')].status".formatted(locked.id()), contains("EXPIRED")))
+                .andExpect(jsonPath("$.content[?(@.id == '%s')].status".formatted(valid.id()), contains("ACTIVE")));
+        mvc.perform(get("/cards/summary").with(authentication(authFor(username))))
+                .andExpect(jsonPath("$.active", is(1)))
+                .andExpect(jsonPath("$.expired", is(2)));
+    }
+
+    @Test
+    void events_stream_pushes_transfer_balances_to_owner_only() throws Exception {
+        String username = "sse-" + UUID.randomUUID();
+        insertUserIfMissing(username, Role.USER);
+        UUID ownerId = userRepository.findByUsername(username).get().getId();
+        CardDto from = createCardAsAdmin(ownerId, "4000000000041111");
+        CardDto to = createCardAsAdmin(ownerId, "4000000000042222");
+
+        MvcResult own = mvc.perform(get("/cards/events").with(authentication(authFor(username))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult other = mvc.perform(get("/cards/events").with(authentication(authFor(OTHER))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(post("/cards/transfer")
+                        .with(authentication(authFor(username)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(from.id(), to.id(), new BigDecimal("40.00")))))
+                .andExpect(status().isOk());
+
+        String body = awaitStream(own, to.id().toString());
+        assertTrue(own.getResponse().getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        assertTrue(body.contains("event:cards"));
+        assertTrue(body.contains("{\"id\":\"%s\",\"balance\":960.00}".formatted(from.id())), body);
+        assertTrue(body.contains("{\"id\":\"%s\",\"balance\":1040.00}".formatted(to.id())), body);
+        assertFalse(other.getResponse().getContentAsString().contains(from.id().toString()));
+    }
+
+    private String awaitStream(MvcResult stream, String expected) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String body = stream.getResponse().getContentAsString();
+            if (body.contains(expected)) return body;
+            Thread.sleep(50);
+        }
+        return stream.getResponse().getContentAsString();
+    }
 }
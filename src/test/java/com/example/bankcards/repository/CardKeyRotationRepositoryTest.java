@@ -0,0 +1,45 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.repository.CardKeyRotationRepository.CardCiphertext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CardKeyRotationRepositoryTest {
+    private static final UUID ADMIN_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Autowired CardKeyRotationRepository rotationRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void replaceCiphertexts_keepsUpdatedAt_whileOtherChangesStillTouchIt() {
+        UUID id = UUID.randomUUID();
+        Timestamp past = Timestamp.valueOf("2020-01-01 00:00:00");
+        jdbcTemplate.update("INSERT INTO cards (id, owner_id, number_encrypted, number_hash, last4, expiry, status, balance, updated_at) "
+                        + "VALUES (?, ?, 'k1:old', ?, '0001', DATE '2030-01-31', 'ACTIVE', 0, ?)",
+                id, ADMIN_ID, "rotation-" + id, past);
+        try {
+            int[] updated = rotationRepository.replaceCiphertexts(List.of(new CardCiphertext(id, "k1:old")), List.of("k2:new"));
+
+            assertEquals(1, updated[0]);
+            assertEquals(past, updatedAt(id));
+
+            jdbcTemplate.update("UPDATE cards SET balance = 1 WHERE id = ?", id);
+            assertTrue(past.before(updatedAt(id)));
+        } finally {
+            jdbcTemplate.update("DELETE FROM cards WHERE id = ?", id);
+        }
+    }
+
+    private Timestamp updatedAt(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM cards WHERE id = ?", Timestamp.class, id);
+    }
+}
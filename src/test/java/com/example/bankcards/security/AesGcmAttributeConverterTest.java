@@ -0,0 +1,71 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.properties.AesGcmProperties;
+import com.example.bankcards.config.properties.EncryptionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AesGcmAttributeConverterTest {
+
+    private static final String LEGACY_KEY = "p/IN8I6r5b9mWFXxRtgza4zaPbzLWwIahFw3oxc8Ws4=";
+    private static final String K1 = "kJ3vXc0mQ6Vb1p2sT9yWzR4nH8uL5aE7dF0gK2iM6oY=";
+    private static final String K2 = "Zm9vYmFyYmF6cXV4MDEyMzQ1Njc4OWFiY2RlZmdoaWo=";
+
+    private AesGcmAttributeConverter converter(String legacy, String active, Map<String, String> keys) {
+        return new AesGcmAttributeConverter(new EncryptionProperties(new AesGcmProperties(legacy, active, keys), null, null),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void withoutActiveKeyId_writesLegacyFormat() {
+        AesGcmAttributeConverter c = converter(LEGACY_KEY, "", Map.of());
+
+        String ct = c.convertToDatabaseColumn("4111111111111111");
+
+        assertFalse(ct.contains(":"));
+        assertTrue(c.isEncryptedWithActiveKey(ct));
+        assertEquals("4111111111111111", c.convertToEntityAttribute(ct));
+    }
+
+    @Test
+    void activeKeyId_prefixesCiphertext_andLegacyStillDecrypts() {
+        String legacyCt = converter(LEGACY_KEY, null, null).convertToDatabaseColumn("4111111111111111");
+        AesGcmAttributeConverter c = converter(LEGACY_KEY, "k2", Map.of("k1", K1, "k2", K2));
+
+        String ct = c.convertToDatabaseColumn("4222222222222222");
+
+        assertTrue(ct.startsWith("k2:"));
+        assertEquals("4222222222222222", c.convertToEntityAttribute(ct));
+        assertEquals("4111111111111111", c.convertToEntityAttribute(legacyCt));
+        assertFalse(c.isEncryptedWithActiveKey(legacyCt));
+    }
+
+    @Test
+    void reencrypt_movesCiphertextToActiveKey() {
+        String oldCt = converter(null, "k1", Map.of("k1", K1)).convertToDatabaseColumn("4333333333333333");
+        AesGcmAttributeConverter c = converter(null, "k2", Map.of("k1", K1, "k2", K2));
+
+        String newCt = c.reencrypt(oldCt);
+
+        assertFalse(c.isEncryptedWithActiveKey(oldCt));
+        assertTrue(c.isEncryptedWithActiveKey(newCt));
+        assertEquals("4333333333333333", converter(null, "k2", Map.of("k2", K2)).convertToEntityAttribute(newCt));
+    }
+
+    @Test
+    void unknownKeyId_throws() {
+        String ct = converter(null, "k1", Map.of("k1", K1)).convertToDatabaseColumn("4444444444444444");
+        AesGcmAttributeConverter c = converter(null, "k2", Map.of("k2", K2));
+
+        assertThrows(IllegalStateException.class, () -> c.convertToEntityAttribute(ct));
+    }
+
+    @Test
+    void activeKeyIdWithoutKey_failsOnStartup() {
+        assertThrows(IllegalStateException.class, () -> converter(LEGACY_KEY, "k9", Map.of("k1", K1)));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bankcards.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncryptedCardNumberTest {
+
+    @Test
+    void equalsAndHashCode_ofLoadedValue_doNotDecrypt() {
+        AtomicInteger decryptions = new AtomicInteger();
+        UnaryOperator<String> decryptor = c -> {
+            decryptions.incrementAndGet();
+            return "4000123412341234";
+        };
+        EncryptedCardNumber a = EncryptedCardNumber.ofCiphertext("k1:abc", decryptor);
+        EncryptedCardNumber b = EncryptedCardNumber.ofCiphertext("k1:abc", decryptor);
+        EncryptedCardNumber rotated = EncryptedCardNumber.ofCiphertext("k2:xyz", decryptor);
+
+        Set<EncryptedCardNumber> set = new HashSet<>(Set.of(a));
+
+        assertTrue(set.contains(b));
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, rotated);
+        assertEquals(a, a.withoutPlain());
+        assertEquals(0, decryptions.get());
+    }
+
+    @Test
+    void hashCode_ofPlainValue_isStableAfterEncryption() {
+        EncryptedCardNumber number = EncryptedCardNumber.ofPlain("4000123412341234");
+        int before = number.hashCode();
+
+        number.ciphertext(p -> "k1:abc", c -> "4000123412341234");
+
+        assertEquals(before, number.hashCode());
+        assertEquals(EncryptedCardNumber.ofPlain("4000123412341234"), number);
+    }
+}
@@ -1,18 +1,22 @@
 package com.example.bankcards.service;
 
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardRow;
 import com.example.bankcards.dto.card.CreateCardRequest;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.event.CardChangedEvent;
 import com.example.bankcards.exception.ForbiddenException;
 import com.example.bankcards.exception.ResourceNotFoundException;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.TransferRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardNumberBlindIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -34,6 +38,21 @@ class AdminCardServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CardNumberBlindIndex blindIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CardSummaryService cardSummaryService;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private AdminCardService adminCardService;
 
@@ -77,6 +96,7 @@ class AdminCardServiceTest {
     void createCard_success_returnsDto() {
         CreateCardRequest req = new CreateCardRequest(ownerId, "4111111111111111", "2028-12", new BigDecimal("500.00"), "ACTIVE");
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(blindIndex.hash(req.getNumber())).thenReturn("hash-1111");
         ArgumentCaptor<Card> captor = ArgumentCaptor.forClass(Card.class);
         Card saved = Card.builder()
                 .id(UUID.randomUUID())
@@ -99,6 +119,40 @@ class AdminCardServiceTest {
         Card toSave = captor.getValue();
         assertEquals(owner, toSave.getOwner());
         assertEquals(req.getNumber(), toSave.getNumber());
+        assertEquals("hash-1111", toSave.getNumberHash());
+        verify(cardSummaryService).cardAdded(saved);
+        verify(dashboardCounterService).cardAdded(saved);
+        verify(eventPublisher).publishEvent(new CardChangedEvent(ownerId));
+    }
+
+    @Test
+    void createCard_duplicateNumber_throws() {
+        CreateCardRequest req = new CreateCardRequest(ownerId, "4111111111111111", "2028-12", new BigDecimal("500.00"), "ACTIVE");
+        when(blindIndex.hash(req.getNumber())).thenReturn("hash-1111");
+        when(cardRepository.existsByNumberHash("hash-1111")).thenReturn(true);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> adminCardService.createCard(req));
+        assertEquals("Card with this number already exists", ex.getMessage());
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    void findByNumber_found_returnsDto() {
+        when(blindIndex.hash("4111111111111111")).thenReturn("hash-1111");
+        when(cardRepository.findRowByNumberHash("hash-1111")).thenReturn(Optional.of(
+                new CardRow(cardId, "1111", null, CardStatus.ACTIVE, existingCard.getBalance(), existingCard.getExpiry(), null)));
+
+        CardDto dto = adminCardService.findByNumber("4111111111111111");
+        assertEquals(cardId, dto.id());
+        assertEquals("**** **** **** 1111", dto.maskedNumber());
+    }
+
+    @Test
+    void findByNumber_notFound_throws() {
+        when(blindIndex.hash("4000000000000000")).thenReturn("hash-0000");
+        when(cardRepository.findRowByNumberHash("hash-0000")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> adminCardService.findByNumber("4000000000000000"));
     }
 
     @Test
@@ -124,6 +178,9 @@ class AdminCardServiceTest {
 
         CardDto dto = adminCardService.changeStatus(cardId, CardStatus.BLOCKED);
         assertEquals("BLOCKED", dto.status());
+        verify(cardSummaryService).statusChanged(ownerId, CardStatus.ACTIVE, CardStatus.BLOCKED);
+        verify(dashboardCounterService).statusChanged(CardStatus.ACTIVE, CardStatus.BLOCKED);
+        verify(outboxService).cardStatusChanged(cardId, ownerId, CardStatus.ACTIVE, CardStatus.BLOCKED);
     }
 
     @Test
@@ -149,5 +206,8 @@ class AdminCardServiceTest {
 
         assertDoesNotThrow(() -> adminCardService.deleteCard(cardId));
         verify(cardRepository).delete(existingCard);
+        verify(cardSummaryService).cardRemoved(existingCard);
+        verify(dashboardCounterService).cardRemoved(existingCard);
+        verify(eventPublisher).publishEvent(new CardChangedEvent(ownerId));
     }
 }
@@ -5,12 +5,14 @@ import com.example.bankcards.dto.auth.LoginRequest;
 import com.example.bankcards.dto.auth.RegistryRequest;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.event.UserChangedEvent;
 import com.example.bankcards.exception.ForbiddenException;
 import com.example.bankcards.repository.UserRepository;
 import com.nimbusds.jwt.JWTClaimsSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -29,6 +31,9 @@ class AuthServiceTest {
     @Mock
     private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthService authService;
 
@@ -80,6 +85,7 @@ class AuthServiceTest {
         assertEquals(encodedPassword, saved.getPasswordHash());
         assertEquals(Role.USER, saved.getRole());
         assertTrue(saved.isEnabled());
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
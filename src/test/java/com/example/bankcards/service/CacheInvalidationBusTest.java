@@ -0,0 +1,198 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.BulkStatusRequest;
+import com.example.bankcards.dto.card.CardUpdateDto;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.event.CardUpdatesEvent;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardNumberBlindIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CacheInvalidationBusTest {
+    private static final String CHANNEL = "cache_invalidation";
+
+    @Autowired UserRepository userRepository;
+    @Autowired CardRepository cardRepository;
+    @Autowired CardNumberBlindIndex blindIndex;
+    @Autowired CardCountService cardCountService;
+    @Autowired CardBulkStatusService bulkStatusService;
+    @Autowired CacheManager cacheManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired ApplicationEventPublisher eventPublisher;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired DataSource dataSource;
+
+    @Test
+    void remoteNotification_evictsCardFromSecondLevelCacheAndOwnerCounts() throws Exception {
+        User owner = newOwner();
+        Card card = newCard(owner);
+        transactionTemplate.executeWithoutResult(tx -> cardRepository.findById(card.getId()).orElseThrow());
+        cardCountService.countByStatus(owner.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Card.class, card.getId()));
+        assertNotNull(cacheManager.getCache(CardCountService.CACHE).get(owner.getId()));
+
+        String payload = UUID.randomUUID() + " o" + owner.getId() + " c" + card.getId();
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, CHANNEL, payload);
+
+        for (int i = 0; i < 100 && entityManagerFactory.getCache().contains(Card.class, card.getId()); i++) {
+            Thread.sleep(50);
+        }
+        assertFalse(entityManagerFactory.getCache().contains(Card.class, card.getId()));
+        assertNull(cacheManager.getCache(CardCountService.CACHE).get(owner.getId()));
+    }
+
+    @Test
+    void cardUpdates_notifyOtherNodesOnlyAfterCommit() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        UUID cardId = UUID.randomUUID();
+        CardUpdatesEvent event = CardUpdatesEvent.of(ownerId, CardUpdateDto.status(cardId, CardStatus.BLOCKED));
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            PGConnection pg = connection.unwrap(PGConnection.class);
+
+            transactionTemplate.executeWithoutResult(tx -> {
+                eventPublisher.publishEvent(event);
+                tx.setRollbackOnly();
+            });
+            assertTrue(receive(pg, ownerId, 300).isEmpty());
+
+            transactionTemplate.executeWithoutResult(tx -> eventPublisher.publishEvent(event));
+            List<String> payloads = receive(pg, ownerId, 5000);
+
+            assertEquals(1, payloads.size());
+            assertTrue(payloads.get(0).contains(" c" + cardId));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("UNLISTEN " + CHANNEL);
+            }
+        }
+    }
+
+    @Test
+    void bulkStatusChange_sendsOneNotificationForAllOwnersOfAChunk() throws Exception {
+        List<User> owners = List.of(newOwner(), newOwner(), newOwner());
+        List<UUID> ids = owners.stream().map(owner -> newCard(owner).getId()).toList();
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setStatus(CardStatus.BLOCKED);
+        request.setIds(ids);
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            PGConnection pg = connection.unwrap(PGConnection.class);
+
+            bulkStatusService.changeStatus(request);
+            List<String> payloads = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 1000;
+            while (System.currentTimeMillis() < deadline) {
+                PGNotification[] notifications = pg.getNotifications(100);
+                if (notifications == null) continue;
+                for (PGNotification notification : notifications) {
+                    String payload = notification.getParameter();
+                    if (owners.stream().anyMatch(owner -> payload.contains(" o" + owner.getId()))) payloads.add(payload);
+                }
+            }
+
+            assertEquals(1, payloads.size());
+            for (User owner : owners) assertTrue(payloads.get(0).contains(" o" + owner.getId()));
+            for (UUID id : ids) assertTrue(payloads.get(0).contains(" c" + id));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("UNLISTEN " + CHANNEL);
+            }
+        }
+    }
+
+    @Test
+    void decode_resyncAllTokenClearsEverything() {
+        CacheInvalidationBus.Pending pending = new CacheInvalidationBus.Pending(false);
+        String payload = "other-node " + CacheInvalidationBus.EVERYTHING;
+
+        assertTrue(CacheInvalidationBus.decode("this-node", payload, pending, 1));
+        assertFalse(CacheInvalidationBus.decode("other-node", payload, pending, 1));
+    }
+
+    @Test
+    void encode_splitsLargeBurstsIntoPayloadsUnderLimit_andDecodeSkipsOwnNode() {
+        String nodeId = UUID.randomUUID().toString();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 500; i++) keys.add("c" + UUID.randomUUID());
+
+        List<String> payloads = CacheInvalidationBus.encode(nodeId, keys);
+
+        assertTrue(payloads.size() > 1);
+        CacheInvalidationBus.Pending own = new CacheInvalidationBus.Pending(false);
+        CacheInvalidationBus.Pending remote = new CacheInvalidationBus.Pending(false);
+        for (String payload : payloads) {
+            assertTrue(payload.length() <= CacheInvalidationBus.MAX_PAYLOAD_BYTES);
+            CacheInvalidationBus.decode(nodeId, payload, own, 1);
+            CacheInvalidationBus.decode("other-node", payload, remote, 1);
+        }
+        assertTrue(own.isEmpty());
+        assertEquals(500, remote.cardIds.size());
+    }
+
+    private static List<String> receive(PGConnection pg, UUID ownerId, int timeoutMs) throws Exception {
+        List<String> payloads = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (payloads.isEmpty() && System.currentTimeMillis() < deadline) {
+            PGNotification[] notifications = pg.getNotifications(100);
+            if (notifications == null) continue;
+            for (PGNotification notification : notifications) {
+                if (notification.getParameter().contains(" o" + ownerId)) payloads.add(notification.getParameter());
+            }
+        }
+        return payloads;
+    }
+
+    private User newOwner() {
+        return userRepository.save(User.builder()
+                .username("bus-" + UUID.randomUUID().toString().substring(0, 8))
+                .passwordHash("-")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+    }
+
+    private Card newCard(User owner) {
+        String number = "5" + String.format("%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+        return cardRepository.save(Card.builder()
+                .owner(owner)
+                .number(number)
+                .numberHash(blindIndex.hash(number))
+                .last4(Card.last4Of(number))
+                .expiry(LocalDate.now().plusYears(3))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("10.00"))
+                .build());
+    }
+}
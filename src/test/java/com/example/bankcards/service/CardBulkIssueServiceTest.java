@@ -0,0 +1,167 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.CardImportProperties;
+import com.example.bankcards.dto.card.BulkIssueResult;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.repository.CardCopyRepository;
+import com.example.bankcards.repository.CardCopyRepository.CardCopyRow;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.AesGcmAttributeConverter;
+import com.example.bankcards.security.CardNumberBlindIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CardBulkIssueServiceTest {
+
+    @Mock
+    private CardCopyRepository copyRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AesGcmAttributeConverter cipher;
+
+    @Mock
+    private CardNumberBlindIndex blindIndex;
+
+    @Mock
+    private CardSummaryService cardSummaryService;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CardBulkIssueService service;
+
+    private UUID ownerId;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new CardBulkIssueService(copyRepository, userRepository, cipher, blindIndex,
+                cardSummaryService, dashboardCounterService, eventPublisher, new CardImportProperties(2, 2));
+        ownerId = UUID.randomUUID();
+        when(cipher.convertToDatabaseColumn(anyString())).thenAnswer(inv -> "enc-" + inv.getArgument(0));
+        when(blindIndex.hash(anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(0));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(ownerId));
+        when(copyRepository.findExistingNumberHashes(anyList())).thenReturn(List.of());
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void issue_copiesRowsInBatchesAndUpdatesSummaryOnce() throws Exception {
+        BulkIssueResult result = service.issue(csv("ownerId,number,expiry,balance\n"
+                + ownerId + ",4000000000000001,2030-02,10.00\n"
+                + ownerId + ",4000000000000002,2030-02,5.50\n"
+                + ownerId + ",4000000000000003,2030-02,0\n"));
+
+        assertEquals(3, result.issued());
+        assertEquals(1, result.owners());
+        ArgumentCaptor<List<CardCopyRow>> batches = ArgumentCaptor.forClass(List.class);
+        verify(copyRepository, times(2)).copyIn(batches.capture());
+        CardCopyRow first = batches.getAllValues().get(0).get(0);
+        assertEquals("enc-4000000000000001", first.numberEncrypted());
+        assertEquals("hash-4000000000000001", first.numberHash());
+        assertEquals("0001", first.last4());
+        assertEquals(LocalDate.of(2030, 2, 28), first.expiry());
+        verify(userRepository, times(1)).findExistingIds(anyCollection());
+        verify(cardSummaryService).cardsIssued(List.of(new CardSummaryService.IssuedCards(ownerId, 3, new BigDecimal("15.50"))));
+        verify(dashboardCounterService).cardsIssued(CardStatus.ACTIVE, 3, new BigDecimal("15.50"));
+        verify(eventPublisher).publishEvent(new CardChangedEvent(ownerId));
+    }
+
+    @Test
+    void issue_unknownOwner_rejectsWithLineNumber() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.issue(csv(
+                ownerId + ",4000000000000001,2030-02,10.00\n"
+                        + UUID.randomUUID() + ",4000000000000002,2030-02,10.00\n")));
+
+        assertEquals("Line 2: user not found", e.getMessage());
+        verify(copyRepository, never()).copyIn(any());
+    }
+
+    @Test
+    void issue_duplicateNumberInFile_rejects() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.issue(csv(
+                ownerId + ",4000000000000001,2030-02,10.00\n"
+                        + ownerId + ",4000000000000002,2030-02,10.00\n"
+                        + ownerId + ",4000000000000001,2030-02,10.00\n")));
+
+        assertEquals("Line 3: duplicate card number", e.getMessage());
+        verifyNoInteractions(cardSummaryService, dashboardCounterService);
+    }
+
+    @Test
+    void issue_existingNumber_rejects() {
+        when(copyRepository.findExistingNumberHashes(anyList())).thenReturn(List.of("hash-4000000000000002"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.issue(csv(
+                ownerId + ",4000000000000001,2030-02,10.00\n"
+                        + ownerId + ",4000000000000002,2030-02,10.00\n")));
+
+        assertEquals("Line 2: card with this number already exists", e.getMessage());
+        verify(copyRepository, never()).copyIn(any());
+    }
+
+    @Test
+    void issue_malformedLine_rejects() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.issue(csv(
+                ownerId + ",4000000000000001,2030-13,10.00\n")));
+
+        assertTrue(e.getMessage().startsWith("Line 1: "));
+    }
+
+    @Test
+    void issue_expiredCard_rejectsWithLineNumber() {
+        String lastMonth = YearMonth.now().minusMonths(1).toString();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.issue(csv(
+                ownerId + ",4000000000000001,2030-02,10.00\n"
+                        + ownerId + ",4000000000000002," + lastMonth + ",10.00\n")));
+
+        assertEquals("Line 2: Card is already expired", e.getMessage());
+        verify(copyRepository, never()).copyIn(any());
+    }
+
+    @Test
+    void issue_balanceWithMoreThanFourDecimals_rejects() throws Exception {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.issue(csv(
+                ownerId + ",4000000000000001,2030-02,0.00001\n")));
+
+        assertTrue(e.getMessage().startsWith("Line 1: Balance must have at most"));
+        verifyNoInteractions(cardSummaryService, dashboardCounterService);
+
+        service.issue(csv(ownerId + ",4000000000000002,2030-02,0.12340\n"));
+        verify(dashboardCounterService).cardsIssued(CardStatus.ACTIVE, 1, new BigDecimal("0.12340"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.BulkStatusRequest;
+import com.example.bankcards.dto.card.BulkStatusResult;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.repository.CardBulkStatusRepository;
+import com.example.bankcards.repository.CardBulkStatusRepository.ChangedCard;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CardBulkStatusServiceTest {
+
+    @Mock
+    private CardBulkStatusRepository bulkStatusRepository;
+
+    @Mock
+    private CardSummaryService cardSummaryService;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CardBulkStatusService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void changeStatus_withoutIdsOrFilter_throws() {
+        BulkStatusRequest req = new BulkStatusRequest(CardStatus.BLOCKED, List.of(), null, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> service.changeStatus(req));
+        verifyNoInteractions(bulkStatusRepository);
+    }
+
+    @Test
+    void changeStatus_walksChunksAndAppliesSideEffects() {
+        UUID ownerA = UUID.randomUUID();
+        UUID ownerB = UUID.randomUUID();
+        List<ChangedCard> full = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            full.add(new ChangedCard(UUID.randomUUID(), ownerA, i % 2 == 0 ? CardStatus.ACTIVE : CardStatus.EXPIRED));
+        }
+        ChangedCard last = new ChangedCard(UUID.randomUUID(), ownerB, CardStatus.ACTIVE);
+        when(bulkStatusRepository.updateChunk(any(), any(), eq(CardStatus.BLOCKED), isNull(), eq(1000))).thenReturn(full);
+        when(bulkStatusRepository.updateChunk(any(), any(), eq(CardStatus.BLOCKED), eq(full.get(999).id()), eq(1000)))
+                .thenReturn(List.of(last));
+
+        BulkStatusResult result = service.changeStatus(
+                new BulkStatusRequest(CardStatus.BLOCKED, null, null, CardStatus.ACTIVE, null, null));
+
+        assertEquals(1001, result.updated());
+        assertEquals(2, result.owners());
+        verify(cardSummaryService).statusesChanged(
+                Map.of(ownerA, Map.of(CardStatus.ACTIVE, 500, CardStatus.EXPIRED, 500)), CardStatus.BLOCKED);
+        verify(cardSummaryService).statusesChanged(Map.of(ownerB, Map.of(CardStatus.ACTIVE, 1)), CardStatus.BLOCKED);
+        verify(dashboardCounterService).statusesChanged(Map.of(CardStatus.ACTIVE, 500, CardStatus.EXPIRED, 500), CardStatus.BLOCKED);
+        verify(dashboardCounterService).statusesChanged(Map.of(CardStatus.ACTIVE, 1), CardStatus.BLOCKED);
+        verify(outboxService).cardStatusesChanged(full, CardStatus.BLOCKED);
+        verify(outboxService).cardStatusesChanged(List.of(last), CardStatus.BLOCKED);
+        verify(cache).evict(Card.class, last.id());
+        verify(cache, times(1001)).evict(eq(Card.class), any());
+        verify(eventPublisher).publishEvent(new CardChangedEvent(ownerA));
+        verify(eventPublisher).publishEvent(new CardChangedEvent(ownerB));
+    }
+}
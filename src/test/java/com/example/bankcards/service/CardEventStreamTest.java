@@ -0,0 +1,159 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.CardEventsProperties;
+import com.example.bankcards.dto.card.CardUpdateDto;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.event.CardUpdatesEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardEventStreamTest {
+
+    private CardEventStream stream = new CardEventStream(new CardEventsProperties(60_000, 25_000, 16, 1, 2));
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void onCardUpdates_sendsDeltasOnlyToOwnersStreams() throws Exception {
+        UUID owner = UUID.randomUUID();
+        RecordingEmitter mine = new RecordingEmitter(null);
+        RecordingEmitter other = new RecordingEmitter(null);
+        stream.subscribe(owner, mine);
+        stream.subscribe(UUID.randomUUID(), other);
+        UUID cardId = UUID.randomUUID();
+
+        stream.onCardUpdates(CardUpdatesEvent.of(owner, CardUpdateDto.status(cardId, CardStatus.BLOCKED)));
+        stream.onCardUpdates(CardUpdatesEvent.resync(owner));
+
+        mine.await(3);
+        assertTrue(mine.sent.get(0).startsWith(":"));
+        assertTrue(mine.sent.get(1).contains("event:cards"));
+        assertTrue(mine.sent.get(1).contains(cardId.toString()));
+        assertTrue(mine.sent.get(1).contains("BLOCKED"));
+        assertTrue(mine.sent.get(2).contains("event:resync"));
+        other.await(1);
+        assertEquals(1, other.sent.size());
+    }
+
+    @Test
+    void heartbeat_isQueuedForIdleStreams() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        stream.subscribe(UUID.randomUUID(), emitter);
+        emitter.await(1);
+
+        stream.heartbeat();
+
+        emitter.await(2);
+        assertTrue(emitter.sent.get(1).startsWith(":"));
+    }
+
+    @Test
+    void slowClient_overflowingBuffer_isDisconnected() throws Exception {
+        stream.shutdown();
+        stream = new CardEventStream(new CardEventsProperties(60_000, 25_000, 2, 1, 2));
+        UUID owner = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        stream.subscribe(owner, slow);
+        assertTrue(slow.blocked.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 3; i++) {
+            stream.onCardUpdates(CardUpdatesEvent.of(owner, CardUpdateDto.deleted(UUID.randomUUID())));
+        }
+
+        assertTrue(slow.completed);
+        assertEquals(0, stream.connections());
+        release.countDown();
+    }
+
+    @Test
+    void subscribe_overPerUserLimit_closesOldestStream() throws Exception {
+        UUID owner = UUID.randomUUID();
+        RecordingEmitter first = new RecordingEmitter(null);
+        RecordingEmitter second = new RecordingEmitter(null);
+        RecordingEmitter third = new RecordingEmitter(null);
+        stream.subscribe(owner, first);
+        stream.subscribe(owner, second);
+        stream.subscribe(owner, third);
+
+        assertTrue(first.completed);
+        assertFalse(second.completed);
+        assertFalse(third.completed);
+        assertEquals(2, stream.connections());
+
+        stream.onCardUpdates(CardUpdatesEvent.resync(owner));
+        third.await(2);
+        assertTrue(third.sent.get(1).contains("event:resync"));
+        assertTrue(first.sent.stream().noneMatch(text -> text.contains("event:resync")));
+    }
+
+    @Test
+    void failedSend_removesSubscriber() throws Exception {
+        RecordingEmitter broken = new RecordingEmitter(null);
+        broken.fail = true;
+        stream.subscribe(UUID.randomUUID(), broken);
+
+        for (int i = 0; i < 50 && stream.connections() > 0; i++) Thread.sleep(20);
+
+        assertEquals(0, stream.connections());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private volatile boolean completed;
+        private volatile boolean fail;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (fail) throw new IOException("Broken pipe");
+            if (release != null) {
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter();
+            for (DataWithMediaType part : builder.build()) {
+                text.append(part.getData() instanceof String s ? s : serialize(json, part.getData()));
+            }
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        void await(int count) throws InterruptedException {
+            for (int i = 0; i < 100 && sent.size() < count; i++) Thread.sleep(20);
+            assertTrue(sent.size() >= count, "sent " + sent);
+        }
+
+        private static String serialize(MappingJackson2HttpMessageConverter json, Object data) throws IOException {
+            return json.getObjectMapper().writeValueAsString(data);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.CardExpiryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CardExpirySweeperTest {
+
+    @Mock
+    private CardBulkStatusService bulkStatusService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void sweep_repeatsChunksUntilShortChunk() {
+        CardExpirySweeper sweeper = new CardExpirySweeper(bulkStatusService, new CardExpiryProperties(true, "-", 100, 0));
+        LocalDate today = LocalDate.of(2026, 11, 1);
+        when(bulkStatusService.expireDue(today, 100)).thenReturn(100, 100, 42);
+
+        assertEquals(242, sweeper.sweep(today));
+        verify(bulkStatusService, times(3)).expireDue(today, 100);
+    }
+
+    @Test
+    void sweepOnSchedule_disabled_doesNothing() {
+        CardExpirySweeper sweeper = new CardExpirySweeper(bulkStatusService, new CardExpiryProperties(false, "-", 100, 0));
+
+        sweeper.sweepOnSchedule();
+
+        verify(bulkStatusService, never()).expireDue(any(), anyInt());
+    }
+}
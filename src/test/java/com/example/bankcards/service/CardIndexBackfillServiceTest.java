@@ -0,0 +1,67 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardNumberBlindIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CardIndexBackfillServiceTest {
+    private static final UUID ADMIN_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Autowired CardIndexBackfillService backfillService;
+    @Autowired CardRepository cardRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired CardNumberBlindIndex blindIndex;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void backfill_recordsDuplicateNumberOnce_andSkipsItAfterwards() {
+        User owner = userRepository.findById(ADMIN_ID).orElseThrow();
+        String number = "4" + String.format("%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+        Card indexed = cardRepository.save(card(owner, number, blindIndex.hash(number)));
+        Card duplicate = cardRepository.save(card(owner, number, null));
+        try {
+            backfillService.backfill();
+
+            assertEquals(blindIndex.hash(number), jdbcTemplate.queryForObject(
+                    "SELECT number_hash FROM card_number_hash_conflicts WHERE card_id = ?", String.class, duplicate.getId()));
+            assertEquals(Card.last4Of(number), jdbcTemplate.queryForObject(
+                    "SELECT last4 FROM cards WHERE id = ?", String.class, duplicate.getId()));
+            assertTrue(cardRepository.findWithoutSearchColumns(new UUID(0L, 0L), PageRequest.of(0, 10_000)).stream()
+                    .noneMatch(card -> card.getId().equals(duplicate.getId())));
+
+            backfillService.backfill();
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM card_number_hash_conflicts WHERE card_id = ?", Integer.class, duplicate.getId()));
+        } finally {
+            cardRepository.deleteAllById(List.of(indexed.getId(), duplicate.getId()));
+        }
+    }
+
+    private static Card card(User owner, String number, String numberHash) {
+        return Card.builder()
+                .owner(owner)
+                .number(number)
+                .numberHash(numberHash)
+                .expiry(LocalDate.now().plusYears(3))
+                .status(CardStatus.ACTIVE)
+                .balance(BigDecimal.ZERO)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.CardListCacheProperties;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.event.CardBalanceChangedEvent;
+import com.example.bankcards.event.CardChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardListCacheTest {
+
+    private CardListCache cache;
+    private UUID ownerId;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CardListCache(new CardListCacheProperties(20, 100, Duration.ofMinutes(5)));
+        ownerId = UUID.randomUUID();
+    }
+
+    @Test
+    void isCacheable_onlyFirstUnfilteredPageOfDefaultSize() {
+        assertTrue(cache.isCacheable(0, 20, null, " "));
+        assertFalse(cache.isCacheable(1, 20, null, null));
+        assertFalse(cache.isCacheable(0, 10, null, null));
+        assertFalse(cache.isCacheable(0, 20, "ACTIVE", null));
+        assertFalse(cache.isCacheable(0, 20, null, "1234"));
+    }
+
+    @Test
+    void firstPage_loadsOnceUntilBalanceChanges() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.firstPage(ownerId, () -> page(loads.incrementAndGet(), "100.00"));
+        Slice<CardDto> cached = cache.firstPage(ownerId, () -> page(loads.incrementAndGet(), "100.00"));
+        assertEquals(1, loads.get());
+        assertEquals(new BigDecimal("100.00"), cached.getContent().get(0).balance());
+
+        cache.onBalanceChanged(new CardBalanceChangedEvent(ownerId));
+        Slice<CardDto> reloaded = cache.firstPage(ownerId, () -> page(loads.incrementAndGet(), "90.00"));
+        assertEquals(2, loads.get());
+        assertEquals(new BigDecimal("90.00"), reloaded.getContent().get(0).balance());
+    }
+
+    @Test
+    void firstPage_doesNotCacheResultLoadedAcrossInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+
+        Slice<CardDto> stale = cache.firstPage(ownerId, () -> {
+            loads.incrementAndGet();
+            cache.onCardChanged(new CardChangedEvent(ownerId));
+            return page(1, "100.00");
+        });
+        assertEquals(new BigDecimal("100.00"), stale.getContent().get(0).balance());
+
+        Slice<CardDto> fresh = cache.firstPage(ownerId, () -> page(loads.incrementAndGet(), "50.00"));
+        assertEquals(2, loads.get());
+        assertEquals(new BigDecimal("50.00"), fresh.getContent().get(0).balance());
+    }
+
+    private static Slice<CardDto> page(int marker, String balance) {
+        CardDto dto = new CardDto(UUID.randomUUID(), "**** **** **** " + (1000 + marker), "ACTIVE",
+                new BigDecimal(balance), LocalDate.of(2028, 12, 31));
+        return new SliceImpl<>(List.of(dto), PageRequest.of(0, 20), false);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.EncryptionProperties;
+import com.example.bankcards.config.properties.KeyRotationProperties;
+import com.example.bankcards.repository.CardKeyRotationRepository;
+import com.example.bankcards.repository.CardKeyRotationRepository.CardCiphertext;
+import com.example.bankcards.repository.CardKeyRotationRepository.Progress;
+import com.example.bankcards.security.AesGcmAttributeConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CardReencryptionServiceTest {
+    private static final String TARGET = "k2";
+
+    @Mock
+    private CardKeyRotationRepository rotationRepository;
+
+    @Mock
+    private AesGcmAttributeConverter cipher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CardReencryptionService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(cipher.getActiveKeyId()).thenReturn(TARGET);
+        when(cipher.isEncryptedWithActiveKey(anyString())).thenAnswer(inv -> inv.<String>getArgument(0).startsWith(TARGET + ":"));
+        when(cipher.reencrypt(anyString())).thenAnswer(inv -> TARGET + ":" + inv.<String>getArgument(0));
+        when(rotationRepository.replaceCiphertexts(anyList(), anyList()))
+                .thenAnswer(inv -> new int[inv.<List<?>>getArgument(0).size()]);
+        service = new CardReencryptionService(rotationRepository, cipher,
+                new EncryptionProperties(null, null, new KeyRotationProperties(true, 2, 1, 0)), transactionTemplate);
+    }
+
+    @Test
+    void reencryptAll_walksBatchesUntilShortBatch_andMarksFinished() {
+        CardCiphertext a = card("k1:a");
+        CardCiphertext b = card("k1:b");
+        CardCiphertext c = card(TARGET + ":c");
+        when(rotationRepository.lockProgress(TARGET))
+                .thenReturn(Optional.of(new Progress(null, false)), Optional.of(new Progress(b.id(), false)));
+        when(rotationRepository.findBatch(null, 2)).thenReturn(List.of(a, b));
+        when(rotationRepository.findBatch(b.id(), 2)).thenReturn(List.of(c));
+
+        service.reencryptAll();
+
+        verify(rotationRepository).startProgress(TARGET);
+        verify(rotationRepository).replaceCiphertexts(List.of(a, b), List.of(TARGET + ":k1:a", TARGET + ":k1:b"));
+        verify(rotationRepository).replaceCiphertexts(List.of(), List.of());
+        verify(rotationRepository).saveProgress(eq(TARGET), eq(b.id()), anyInt());
+        verify(rotationRepository).saveProgress(eq(TARGET), eq(c.id()), anyInt());
+        verify(rotationRepository).markFinished(TARGET);
+        verify(rotationRepository, times(2)).lockProgress(TARGET);
+    }
+
+    @Test
+    void reencryptAll_resumesAfterSavedCard() {
+        UUID lastDone = UUID.randomUUID();
+        when(rotationRepository.lockProgress(TARGET)).thenReturn(Optional.of(new Progress(lastDone, false)));
+        when(rotationRepository.findBatch(lastDone, 2)).thenReturn(List.of());
+
+        assertEquals(0, service.reencryptAll());
+
+        verify(rotationRepository).findBatch(lastDone, 2);
+        verify(rotationRepository, never()).findBatch(isNull(), anyInt());
+        verify(rotationRepository).markFinished(TARGET);
+    }
+
+    @Test
+    void reencryptAll_cardsWrittenBehindCursor_startAnotherPassBeforeFinishing() {
+        CardCiphertext a = card("k1:a");
+        CardCiphertext late = card("k1:late");
+        when(rotationRepository.lockProgress(TARGET))
+                .thenReturn(Optional.of(new Progress(null, false)), Optional.of(new Progress(null, false)));
+        when(rotationRepository.findBatch(null, 2)).thenReturn(List.of(a), List.of(late));
+        when(rotationRepository.countNotEncryptedWith(TARGET)).thenReturn(1L, 0L);
+
+        assertEquals(0, service.reencryptAll());
+
+        verify(rotationRepository).restartProgress(TARGET);
+        verify(rotationRepository).replaceCiphertexts(List.of(a), List.of(TARGET + ":k1:a"));
+        verify(rotationRepository).replaceCiphertexts(List.of(late), List.of(TARGET + ":k1:late"));
+        verify(rotationRepository, times(1)).markFinished(TARGET);
+    }
+
+    @Test
+    void reencryptAll_stopsWhenProgressIsLockedByAnotherNode() {
+        when(rotationRepository.lockProgress(TARGET)).thenReturn(Optional.empty());
+
+        assertEquals(0, service.reencryptAll());
+
+        verify(rotationRepository, times(1)).lockProgress(TARGET);
+        verify(rotationRepository, never()).findBatch(any(), anyInt());
+        verify(rotationRepository, never()).saveProgress(any(), any(), anyInt());
+    }
+
+    @Test
+    void reencryptAll_returnsImmediatelyWhenAlreadyFinished() {
+        when(rotationRepository.lockProgress(TARGET)).thenReturn(Optional.of(new Progress(UUID.randomUUID(), true)));
+
+        assertEquals(0, service.reencryptAll());
+
+        verify(rotationRepository).countNotEncryptedWith(TARGET);
+        verify(rotationRepository, never()).findBatch(any(), anyInt());
+        verify(rotationRepository, never()).markFinished(any());
+    }
+
+    @Test
+    void reencryptAll_finishedButStaleCardsRemain_reopensTheRotation() {
+        CardCiphertext late = card("k1:late");
+        when(rotationRepository.lockProgress(TARGET))
+                .thenReturn(Optional.of(new Progress(UUID.randomUUID(), true)), Optional.of(new Progress(null, false)));
+        when(rotationRepository.countNotEncryptedWith(TARGET)).thenReturn(1L, 0L);
+        when(rotationRepository.findBatch(null, 2)).thenReturn(List.of(late));
+
+        service.reencryptAll();
+
+        verify(rotationRepository).restartProgress(TARGET);
+        verify(rotationRepository).replaceCiphertexts(List.of(late), List.of(TARGET + ":k1:late"));
+        verify(rotationRepository).markFinished(TARGET);
+    }
+
+    private static CardCiphertext card(String ciphertext) {
+        return new CardCiphertext(UUID.randomUUID(), ciphertext);
+    }
+}
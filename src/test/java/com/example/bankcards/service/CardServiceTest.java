@@ -1,9 +1,12 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.card.CardCursor;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardRow;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.event.CardChangedEvent;
 import com.example.bankcards.exception.ForbiddenException;
 import com.example.bankcards.exception.ResourceNotFoundException;
 import com.example.bankcards.exception.UnauthorizedException;
@@ -11,10 +14,12 @@ import com.example.bankcards.repository.CardRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -27,6 +32,24 @@ class CardServiceTest {
     @Mock
     private CardRepository cardRepository;
 
+    @Mock
+    private CardCountService cardCountService;
+
+    @Mock
+    private CardListCache cardListCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CardSummaryService cardSummaryService;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private CardService cardService;
 
@@ -58,19 +81,22 @@ class CardServiceTest {
     @Test
     void listOwn_whenUserIsNull_throwsUnauthorized() {
         assertThrows(UnauthorizedException.class,
-                () -> cardService.listOwn(null, 0, 10, null, null));
+                () -> cardService.listOwn(null, 0, 10, null, null, true));
     }
 
     @Test
     void listOwn_noSearch_returnsPageWithOneCardDto() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt").descending());
-        Page<Card> mockPage = new PageImpl<>(List.of(card), pageable, 1);
-        when(cardRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(mockPage);
+        when(cardRepository.findRowSlice(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(rowOf(card)), pageable, false));
+        when(cardCountService.countByStatus(user.getId()))
+                .thenReturn(Map.of(CardStatus.ACTIVE, 1L, CardStatus.BLOCKED, 3L));
 
-        Page<CardDto> result = cardService.listOwn(user, 0, 10, "ACTIVE", null);
+        Page<CardDto> result = assertInstanceOf(Page.class, cardService.listOwn(user, 0, 10, "ACTIVE", null, true));
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
+        verify(cardRepository, never()).findRowPage(any(Specification.class), any(Pageable.class));
         CardDto dto = result.getContent().get(0);
         assertEquals(card.getId(), dto.id());
         assertEquals("**** **** **** 1111", dto.maskedNumber());
@@ -90,10 +116,10 @@ class CardServiceTest {
                 .status(CardStatus.ACTIVE)
                 .balance(new BigDecimal("100"))
                 .build();
-        when(cardRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(matching), pageable, 1));
+        when(cardRepository.findRowPage(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(rowOf(matching)), pageable, 1));
 
-        Page<CardDto> result = cardService.listOwn(user, 0, 10, "ACTIVE", "1111");
+        Page<CardDto> result = assertInstanceOf(Page.class, cardService.listOwn(user, 0, 10, "ACTIVE", "1111", true));
 
         assertEquals(1, result.getTotalElements());
         CardDto dto = result.getContent().get(0);
@@ -118,15 +144,85 @@ class CardServiceTest {
                 .status(CardStatus.ACTIVE)
                 .balance(new BigDecimal("100"))
                 .build();
-        when(cardRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(matching), pageable, 1));
+        when(cardRepository.findRowPage(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(rowOf(matching)), pageable, 1));
 
-        Page<CardDto> result = cardService.listOwn(otherOwner, 0, 10, null, "searchable");
+        Page<CardDto> result = assertInstanceOf(Page.class, cardService.listOwn(otherOwner, 0, 10, null, "searchable", true));
 
         assertEquals(1, result.getTotalElements());
         assertEquals(matching.getId(), result.getContent().get(0).id());
     }
 
+    @Test
+    void listOwn_withSearch_keepsTotalsFromQuery() {
+        Pageable pageable = PageRequest.of(1, 10, Sort.by("createdAt").descending());
+        when(cardRepository.findRowPage(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(rowOf(card)), pageable, 11));
+
+        Page<CardDto> result = assertInstanceOf(Page.class, cardService.listOwn(user, 1, 10, null, "1111", true));
+
+        assertEquals(11, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        verify(cardRepository, times(1)).findRowPage(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    void listOwn_withoutTotal_returnsSliceWithoutCounting() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("createdAt").descending());
+        when(cardRepository.findRowSlice(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(rowOf(card)), pageable, true));
+
+        Slice<CardDto> result = cardService.listOwn(user, 0, 1, null, null, false);
+
+        assertFalse(result instanceof Page);
+        assertTrue(result.hasNext());
+        assertEquals(card.getId(), result.getContent().get(0).id());
+        verifyNoInteractions(cardCountService);
+        verify(cardRepository, never()).findRowPage(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void cardEtag_changesWithVersion() {
+        CardRepository.CardVersion v1 = mock(CardRepository.CardVersion.class);
+        when(v1.getOwnerId()).thenReturn(user.getId());
+        when(v1.getVersion()).thenReturn(1L);
+        CardRepository.CardVersion v2 = mock(CardRepository.CardVersion.class);
+        when(v2.getOwnerId()).thenReturn(user.getId());
+        when(v2.getVersion()).thenReturn(2L);
+        when(cardRepository.findVersionById(card.getId())).thenReturn(Optional.of(v1), Optional.of(v2));
+
+        String first = cardService.cardEtag(user, card.getId());
+        String second = cardService.cardEtag(user, card.getId());
+
+        assertTrue(first.startsWith("W/\""));
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void cardEtag_notOwner_throwsForbidden() {
+        CardRepository.CardVersion version = mock(CardRepository.CardVersion.class);
+        when(version.getOwnerId()).thenReturn(UUID.randomUUID());
+        when(cardRepository.findVersionById(card.getId())).thenReturn(Optional.of(version));
+
+        assertThrows(ForbiddenException.class, () -> cardService.cardEtag(user, card.getId()));
+    }
+
+    @Test
+    void scrollOwn_invalidCursor_throwsIllegalArgumentWithoutQuery() {
+        assertThrows(IllegalArgumentException.class,
+                () -> cardService.scrollOwn(user, 10, null, null, "not-a-cursor"));
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void cardCursor_roundTripsThroughOpaqueString() {
+        CardCursor cursor = new CardCursor(Instant.parse("2025-03-01T10:15:30.123456Z"), UUID.randomUUID());
+
+        CardCursor decoded = CardCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
     @Test
     void requestBlock_whenUserIsNull_throwsUnauthorized() {
         assertThrows(UnauthorizedException.class,
@@ -168,5 +264,13 @@ class CardServiceTest {
         assertDoesNotThrow(() -> cardService.requestBlock(user, cardId));
         assertEquals(CardStatus.BLOCKED, card.getStatus());
         verify(cardRepository).save(card);
+        verify(cardSummaryService).statusChanged(user.getId(), CardStatus.ACTIVE, CardStatus.BLOCKED);
+        verify(dashboardCounterService).statusChanged(CardStatus.ACTIVE, CardStatus.BLOCKED);
+        verify(outboxService).cardStatusChanged(cardId, user.getId(), CardStatus.ACTIVE, CardStatus.BLOCKED);
+        verify(eventPublisher).publishEvent(new CardChangedEvent(user.getId()));
+    }
+
+    private static CardRow rowOf(Card c) {
+        return new CardRow(c.getId(), Card.last4Of(c.getNumber()), null, c.getStatus(), c.getBalance(), c.getExpiry(), c.getCreatedAt());
     }
 }
@@ -2,13 +2,14 @@ package com.example.bankcards.service;
 
 import com.example.bankcards.dto.card.TransferRequest;
 import com.example.bankcards.entity.*;
+import com.example.bankcards.event.CardBalanceChangedEvent;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.TransferRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 
-import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -26,6 +27,21 @@ class CardTransferServiceTest {
     @Mock
     private TransferRepository transferRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CardSummaryService cardSummaryService;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TransferMetrics transferMetrics;
+
     @InjectMocks
     private CardTransferService transferService;
 
@@ -87,6 +103,10 @@ class CardTransferServiceTest {
                         && t.getAmount().compareTo(amount) == 0
                         && t.getStatus() == TransferStatus.COMPLETED
         ));
+        verify(dashboardCounterService).transferred(amount);
+        verify(outboxService).transferCompleted(argThat(t -> t.getAmount().compareTo(amount) == 0));
+        verify(eventPublisher).publishEvent(new CardBalanceChangedEvent(user.getId()));
+        verify(transferMetrics).record(eq(TransferMetrics.Outcome.COMPLETED), anyLong());
     }
 
     @Test
@@ -97,6 +117,7 @@ class CardTransferServiceTest {
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> transferService.transfer(userId, req));
         assertEquals("from card not found", ex.getMessage());
+        verify(transferMetrics).record(eq(TransferMetrics.Outcome.NOT_FOUND), anyLong());
     }
 
     @Test
@@ -108,6 +129,7 @@ class CardTransferServiceTest {
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> transferService.transfer(userId, req));
         assertEquals("to card not found", ex.getMessage());
+        verify(transferMetrics).record(eq(TransferMetrics.Outcome.NOT_FOUND), anyLong());
     }
 
     @Test
@@ -120,6 +142,20 @@ class CardTransferServiceTest {
 
         IllegalStateException ex = assertThrows(IllegalStateException.class, () -> transferService.transfer(userId, req));
         assertEquals("Card not active", ex.getMessage());
+        verify(transferMetrics).record(eq(TransferMetrics.Outcome.INACTIVE), anyLong());
+    }
+
+    @Test
+    void transfer_cardExpiredButNotSwept_throwsIllegalState() {
+        UUID userId = user.getId();
+        to.setExpiry(LocalDate.now().minusDays(1));
+        TransferRequest req = new TransferRequest(from.getId(), to.getId(), new BigDecimal("10.00"));
+        when(cardRepository.findById(from.getId())).thenReturn(Optional.of(from));
+        when(cardRepository.findById(to.getId())).thenReturn(Optional.of(to));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> transferService.transfer(userId, req));
+        assertEquals("Card expired", ex.getMessage());
+        verify(transferMetrics).record(eq(TransferMetrics.Outcome.EXPIRED), anyLong());
     }
 
     @Test
@@ -131,6 +167,7 @@ class CardTransferServiceTest {
 
         IllegalStateException ex = assertThrows(IllegalStateException.class, () -> transferService.transfer(userId, req));
         assertEquals("Insufficient funds", ex.getMessage());
+        verify(transferMetrics).record(eq(TransferMetrics.Outcome.INSUFFICIENT_FUNDS), anyLong());
     }
 
     @Test
@@ -141,5 +178,6 @@ class CardTransferServiceTest {
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> transferService.transfer(userId, req));
         assertEquals("Cannot transfer to same card", ex.getMessage());
+        verify(transferMetrics).record(eq(TransferMetrics.Outcome.SAME_CARD), anyLong());
     }
 }
@@ -0,0 +1,139 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.DashboardDto;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.repository.DashboardCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DashboardCounterServiceTest {
+
+    @Mock
+    private DashboardCounterRepository counterRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DashboardCounterService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(inv -> {
+            inv.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(counterRepository.findAll()).thenReturn(Map.of(
+                "ACTIVE_CARDS", new BigDecimal("10.0000"),
+                "TOTAL_BALANCE", new BigDecimal("500.0000")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(service);
+    }
+
+    @Test
+    void get_addsUnflushedDeltasToStoredValues() {
+        service.cardsIssued(CardStatus.ACTIVE, 3, new BigDecimal("15.50"));
+        service.statusChanged(CardStatus.ACTIVE, CardStatus.BLOCKED);
+        service.transferred(new BigDecimal("2.25"));
+
+        DashboardDto dto = service.get();
+
+        assertEquals(12, dto.active());
+        assertEquals(1, dto.blocked());
+        assertEquals(0, dto.expired());
+        assertEquals(new BigDecimal("515.5000"), dto.totalBalance());
+        assertEquals(1, dto.transfers());
+        assertEquals(new BigDecimal("2.2500"), dto.transferVolume());
+    }
+
+    @Test
+    void amountsBeyondMoneyScale_areRoundedHalfUp() {
+        service.transferred(new BigDecimal("0.00005"));
+        service.cardsIssued(CardStatus.ACTIVE, 1, new BigDecimal("1.00004"));
+
+        DashboardDto dto = service.get();
+
+        assertEquals(new BigDecimal("0.0001"), dto.transferVolume());
+        assertEquals(new BigDecimal("501.0000"), dto.totalBalance());
+    }
+
+    @Test
+    void flush_writesNonZeroDeltasOnce() {
+        service.statusesChanged(Map.of(CardStatus.ACTIVE, 4, CardStatus.EXPIRED, 1), CardStatus.BLOCKED);
+
+        service.flush();
+        service.flush();
+
+        verify(counterRepository, times(1)).addAll(Map.of(
+                "ACTIVE_CARDS", new BigDecimal("-4"),
+                "EXPIRED_CARDS", new BigDecimal("-1"),
+                "BLOCKED_CARDS", new BigDecimal("5")));
+    }
+
+    @Test
+    void flush_failure_keepsDeltasForNextAttempt() {
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(counterRepository).addAll(anyMap());
+        service.transferred(new BigDecimal("1.00"));
+
+        service.flush();
+        assertEquals(1, service.get().transfers());
+        service.flush();
+
+        verify(counterRepository, times(2)).addAll(Map.of(
+                "TRANSFER_COUNT", new BigDecimal("1"),
+                "TRANSFER_VOLUME", new BigDecimal("1.0000")));
+    }
+
+    @Test
+    void changesInsideTransaction_areCountedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.transferred(new BigDecimal("5.00"));
+        service.transferred(new BigDecimal("7.00"));
+
+        assertEquals(0, service.get().transfers());
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.afterCommit();
+            sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(2, service.get().transfers());
+        assertEquals(new BigDecimal("12.0000"), service.get().transferVolume());
+        assertNull(TransactionSynchronizationManager.getResource(service));
+    }
+
+    @Test
+    void changesInsideRolledBackTransaction_areDropped() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.cardsIssued(CardStatus.ACTIVE, 1, BigDecimal.TEN);
+
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertEquals(10, service.get().active());
+        assertEquals(new BigDecimal("500.0000"), service.get().totalBalance());
+    }
+}
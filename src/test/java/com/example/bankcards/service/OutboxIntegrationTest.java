@@ -0,0 +1,163 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.TransferRequest;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.event.OutboxEventType;
+import com.example.bankcards.event.OutboxHandler;
+import com.example.bankcards.event.OutboxMessage;
+import com.example.bankcards.event.TransferCompletedPayload;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.OutboxRepository;
+import com.example.bankcards.repository.OutboxRepository.Entry;
+import com.example.bankcards.repository.OutboxRepository.Failure;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardNumberBlindIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.outbox.enabled=true")
+class OutboxIntegrationTest {
+    private static final Map<UUID, AtomicInteger> HANDLED = new ConcurrentHashMap<>();
+    private static final Map<UUID, String> HANDLED_BY = new ConcurrentHashMap<>();
+
+    @Autowired OutboxPoller poller;
+    @Autowired OutboxRepository outboxRepository;
+    @Autowired CardTransferService transferService;
+    @Autowired CardRepository cardRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired CardNumberBlindIndex blindIndex;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired ObjectMapper objectMapper;
+
+    @TestConfiguration
+    static class RecordingHandlerConfig {
+        @Bean
+        OutboxHandler recordingOutboxHandler() {
+            return new OutboxHandler() {
+                @Override
+                public boolean supports(OutboxEventType type) {
+                    return true;
+                }
+
+                @Override
+                public void handle(OutboxMessage message) throws Exception {
+                    HANDLED.computeIfAbsent(message.aggregateId(), id -> new AtomicInteger()).incrementAndGet();
+                    HANDLED_BY.put(message.aggregateId(), Thread.currentThread().getName());
+                    Thread.sleep(1);
+                }
+            };
+        }
+    }
+
+    @Test
+    void transfer_writesOutboxRowInSameTransaction() throws Exception {
+        User owner = userRepository.save(User.builder()
+                .username("outbox-" + UUID.randomUUID())
+                .passwordHash("-")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        List<Card> cards = transactionTemplate.execute(tx -> cardRepository.saveAll(List.of(newCard(owner), newCard(owner))));
+
+        transferService.transfer(owner.getId(),
+                new TransferRequest(cards.get(0).getId(), cards.get(1).getId(), new BigDecimal("10.00")));
+
+        String payload = jdbcTemplate.queryForObject(
+                "SELECT payload::text FROM outbox WHERE event_type = 'TRANSFER_COMPLETED' AND payload->>'fromCardId' = ?",
+                String.class, cards.get(0).getId().toString());
+        TransferCompletedPayload event = objectMapper.readValue(payload, TransferCompletedPayload.class);
+        assertEquals(owner.getId(), event.userId());
+        assertEquals(cards.get(1).getId(), event.toCardId());
+        assertEquals(0, new BigDecimal("10.00").compareTo(event.amount()));
+    }
+
+    @Test
+    void concurrentPollers_dispatchEveryMessageExactlyOnce() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            entries.add(new Entry(OutboxEventType.CARD_STATUS_CHANGED, id, "{}"));
+        }
+        transactionTemplate.executeWithoutResult(tx -> outboxRepository.append(entries));
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return poller.drain();
+            }));
+        }
+        start.countDown();
+        for (Future<Long> result : results) result.get();
+        pool.shutdown();
+
+        for (UUID id : ids) {
+            assertEquals(1, HANDLED.get(id).get(), "message " + id);
+        }
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        ids.forEach(id -> threads.add(HANDLED_BY.get(id)));
+        assertTrue(threads.size() > 1, "batches were claimed by " + threads);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM outbox WHERE aggregate_id = ANY (?::uuid[])", Integer.class,
+                (Object) ids.stream().map(UUID::toString).toArray(String[]::new)));
+    }
+
+    @Test
+    void claim_skipsDeadLetters() {
+        UUID aggregateId = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(tx -> outboxRepository.append(
+                List.of(new Entry(OutboxEventType.CARD_STATUS_CHANGED, aggregateId, "{}"))));
+        long id = jdbcTemplate.queryForObject("SELECT id FROM outbox WHERE aggregate_id = ?", Long.class, aggregateId);
+
+        transactionTemplate.executeWithoutResult(tx -> outboxRepository.markDead(List.of(new Failure(id, "gone"))));
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox WHERE id = ? AND dead_at IS NOT NULL", Integer.class, id));
+        List<OutboxMessage> claimed = transactionTemplate.execute(tx -> outboxRepository.claim(Integer.MAX_VALUE));
+        assertTrue(claimed.stream().noneMatch(m -> m.id() == id));
+    }
+
+    private Card newCard(User owner) {
+        String number = "6" + String.format("%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+        return Card.builder()
+                .owner(owner)
+                .number(number)
+                .numberHash(blindIndex.hash(number))
+                .last4(Card.last4Of(number))
+                .expiry(LocalDate.now().plusYears(3))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build();
+    }
+}
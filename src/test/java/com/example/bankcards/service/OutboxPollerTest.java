@@ -0,0 +1,130 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.properties.OutboxProperties;
+import com.example.bankcards.event.OutboxEventType;
+import com.example.bankcards.event.OutboxHandler;
+import com.example.bankcards.event.OutboxMessage;
+import com.example.bankcards.repository.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxPollerTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxHandler transferHandler;
+
+    @Mock
+    private OutboxHandler statusHandler;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(transferHandler.supports(OutboxEventType.TRANSFER_COMPLETED)).thenReturn(true);
+        when(statusHandler.supports(OutboxEventType.CARD_STATUS_CHANGED)).thenReturn(true);
+        poller = new OutboxPoller(outboxRepository, List.of(transferHandler, statusHandler),
+                new OutboxProperties(true, 1000, 2, 5000, 3), transactionTemplate);
+    }
+
+    @Test
+    void drain_dispatchesToSupportingHandlersAndDeletesBatches() throws Exception {
+        OutboxMessage transfer = message(1, OutboxEventType.TRANSFER_COMPLETED);
+        OutboxMessage status = message(2, OutboxEventType.CARD_STATUS_CHANGED);
+        OutboxMessage tail = message(3, OutboxEventType.CARD_STATUS_CHANGED);
+        when(outboxRepository.claim(2)).thenReturn(List.of(transfer, status), List.of(tail));
+
+        assertEquals(3, poller.drain());
+
+        verify(transferHandler).handle(transfer);
+        verify(transferHandler, never()).handle(status);
+        verify(statusHandler).handle(status);
+        verify(statusHandler).handle(tail);
+        verify(outboxRepository).delete(List.of(1L, 2L));
+        verify(outboxRepository).delete(List.of(3L));
+        verify(outboxRepository, times(2)).reschedule(List.of(), 5000);
+    }
+
+    @Test
+    void drain_reschedulesFailedMessagesAndStops() throws Exception {
+        OutboxMessage ok = message(1, OutboxEventType.TRANSFER_COMPLETED);
+        OutboxMessage broken = message(2, OutboxEventType.CARD_STATUS_CHANGED);
+        when(outboxRepository.claim(2)).thenReturn(List.of(ok, broken));
+        doThrow(new IllegalStateException("down")).when(statusHandler).handle(broken);
+
+        assertEquals(1, poller.drain());
+
+        verify(outboxRepository).delete(List.of(1L));
+        verify(outboxRepository).reschedule(argThat(f -> f.size() == 1 && f.get(0).id() == 2L), eq(5000L));
+        verify(outboxRepository, times(1)).claim(2);
+    }
+
+    @Test
+    void drain_messageWithoutHandler_isKeptAndRescheduled() throws Exception {
+        poller = new OutboxPoller(outboxRepository, List.of(statusHandler),
+                new OutboxProperties(true, 1000, 2, 5000, 3), transactionTemplate);
+        OutboxMessage transfer = message(1, OutboxEventType.TRANSFER_COMPLETED);
+        when(outboxRepository.claim(2)).thenReturn(List.of(transfer));
+
+        assertEquals(0, poller.drain());
+
+        verify(outboxRepository).delete(List.of());
+        verify(outboxRepository).reschedule(argThat(f -> f.size() == 1 && f.get(0).id() == 1L
+                && f.get(0).error().contains("No handler")), eq(5000L));
+        verify(outboxRepository).markDead(List.of());
+    }
+
+    @Test
+    void drain_lastAttemptFailure_movesMessageToDeadLetters() throws Exception {
+        OutboxMessage retried = new OutboxMessage(1, OutboxEventType.CARD_STATUS_CHANGED, UUID.randomUUID(), "{}", 1);
+        OutboxMessage exhausted = new OutboxMessage(2, OutboxEventType.CARD_STATUS_CHANGED, UUID.randomUUID(), "{}", 2);
+        when(outboxRepository.claim(2)).thenReturn(List.of(retried, exhausted));
+        doThrow(new IllegalStateException("down")).when(statusHandler).handle(any());
+
+        assertEquals(0, poller.drain());
+
+        verify(outboxRepository).reschedule(argThat(f -> f.size() == 1 && f.get(0).id() == 1L), eq(5000L));
+        verify(outboxRepository).markDead(argThat(f -> f.size() == 1 && f.get(0).id() == 2L));
+        verify(outboxRepository).delete(List.of());
+    }
+
+    @Test
+    void drain_emptyOutbox_returnsZero() {
+        when(outboxRepository.claim(2)).thenReturn(List.of());
+
+        assertEquals(0, poller.drain());
+        verify(outboxRepository).delete(List.of());
+    }
+
+    @Test
+    void pollOnSchedule_disabled_doesNothing() {
+        poller = new OutboxPoller(outboxRepository, List.of(transferHandler),
+                new OutboxProperties(false, 1000, 2, 5000, 3), transactionTemplate);
+
+        poller.pollOnSchedule();
+
+        verifyNoInteractions(outboxRepository, transactionTemplate);
+    }
+
+    private static OutboxMessage message(long id, OutboxEventType type) {
+        return new OutboxMessage(id, type, UUID.randomUUID(), "{}", 0);
+    }
+}
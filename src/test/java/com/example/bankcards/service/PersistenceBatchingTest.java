@@ -0,0 +1,130 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.TransferRequest;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardNumberBlindIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class PersistenceBatchingTest {
+    private static final int CARDS = 120;
+
+    @Autowired CardRepository cardRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired CardNumberBlindIndex blindIndex;
+    @Autowired CardTransferService transferService;
+    @Autowired TransactionTemplate transactionTemplate;
+    @PersistenceContext EntityManager em;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("batch-" + UUID.randomUUID())
+                .passwordHash("-")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+    }
+
+    @Test
+    void inserts_and_versioned_updates_are_sent_in_jdbc_batches() {
+        JdbcCounter inserts = new JdbcCounter();
+        List<UUID> ids = transactionTemplate.execute(tx -> {
+            listen(inserts);
+            List<Card> cards = new ArrayList<>();
+            for (int i = 0; i < CARDS; i++) cards.add(newCard());
+            return cardRepository.saveAll(cards).stream().map(Card::getId).toList();
+        });
+        assertEquals(1, inserts.prepared);
+        assertEquals(3, inserts.batches);
+
+        JdbcCounter updates = new JdbcCounter();
+        transactionTemplate.executeWithoutResult(tx -> {
+            listen(updates);
+            cardRepository.findAllById(ids).forEach(card -> card.setBalance(card.getBalance().add(BigDecimal.ONE)));
+        });
+        assertEquals(2, updates.prepared);
+        assertEquals(3, updates.batches);
+    }
+
+    @Test
+    void transfer_flushes_once_and_batches_both_card_updates() {
+        List<Card> cards = transactionTemplate.execute(tx -> cardRepository.saveAll(List.of(newCard(), newCard())));
+
+        JdbcCounter transfer = new JdbcCounter();
+        transactionTemplate.executeWithoutResult(tx -> {
+            listen(transfer);
+            try {
+                transferService.transfer(owner.getId(),
+                        new TransferRequest(cards.get(0).getId(), cards.get(1).getId(), new BigDecimal("10.00")));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(1, transfer.flushes);
+        assertEquals(2, transfer.batches);
+    }
+
+    private void listen(JdbcCounter counter) {
+        em.unwrap(Session.class).addEventListeners(counter);
+    }
+
+    private Card newCard() {
+        String number = "7" + String.format("%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+        return Card.builder()
+                .owner(owner)
+                .number(number)
+                .numberHash(blindIndex.hash(number))
+                .last4(Card.last4Of(number))
+                .expiry(LocalDate.now().plusYears(3))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build();
+    }
+
+    private static class JdbcCounter implements SessionEventListener {
+        int prepared;
+        int batches;
+        int flushes;
+
+        @Override
+        public void jdbcPrepareStatementStart() {
+            prepared++;
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batches++;
+        }
+
+        @Override
+        public void flushStart() {
+            flushes++;
+        }
+    }
+}